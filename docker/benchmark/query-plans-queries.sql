@@ -0,0 +1,46 @@
+-- Queries in the shape Hibernate generates for HotelSpecification, RoomSpecification and the booking
+-- listings. Included twice by query-plans.sql.
+
+\echo '--- hotels: city + distance (HotelSpecification.byCity, byDistance)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hotels
+WHERE city = 'City_42' AND distance_from_city_center <= 2.5
+ORDER BY id LIMIT 20;
+
+\echo '--- hotels: count by name (HotelSpecification.byName)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM hotels WHERE name = 'Hotel_4242';
+
+\echo '--- hotels: rating + number of ratings (HotelSpecification.byRating, byNumberOfRatings)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM hotels
+WHERE rating >= 4.9 AND number_of_ratings >= 900
+ORDER BY id LIMIT 20;
+
+\echo '--- rooms: hotel + price range (RoomSpecification.byHotelId, byPrice)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM rooms
+WHERE hotel_id = (SELECT max(id) FROM hotels) - 100 AND price BETWEEN 1000 AND 3000
+ORDER BY id LIMIT 20;
+
+\echo '--- rooms: capacity + max price (RoomSpecification.byCountGuest, byPrice)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM rooms
+WHERE capacity = 3 AND price <= 600;
+
+\echo '--- bookings: by user (bookings of a user, cascade checks on users)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bookings
+WHERE user_id = (SELECT min(id) FROM users) + 4242;
+
+\echo '--- bookings: by room, upcoming stays'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM bookings
+WHERE room_id = (SELECT max(id) FROM rooms) - 4242 AND arrival_date >= DATE '2230-01-05'
+ORDER BY arrival_date;
+
+\echo '--- unavailable dates: room + date range'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT date FROM unavailable_dates
+WHERE room_id = (SELECT max(id) FROM rooms) - 4242
+  AND date BETWEEN DATE '2230-01-01' AND DATE '2230-01-31';
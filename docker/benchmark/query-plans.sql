@@ -0,0 +1,82 @@
+-- Query plans of the hotel, room and booking searches before and after the v.0.0.2 indexes.
+--
+-- Run against a throwaway database that the application has already migrated, e.g. the one from
+-- docker-compose.yml:
+--
+--   psql -h localhost -U postgres -d app_booking_db -f docker/benchmark/query-plans.sql > plans.txt
+--
+-- Everything runs in one transaction that is rolled back at the end, so the generated rows and the
+-- dropped indexes never become visible to the application. Dataset: 20 000 hotels in 500 cities,
+-- 400 000 rooms, 100 000 users, 1 200 000 bookings and 1 600 000 unavailable dates.
+
+\set ON_ERROR_STOP on
+\timing on
+
+BEGIN;
+
+INSERT INTO hotels (name, title, city, address, distance_from_city_center, rating, number_of_ratings)
+SELECT 'Hotel_' || h,
+       'Hotel_Title_' || h,
+       'City_' || (h % 500),
+       'Street_' || h,
+       round((random() * 20)::numeric, 1),
+       round((1 + random() * 4)::numeric, 2),
+       (random() * 1000)::int
+FROM generate_series(1, 20000) AS h;
+
+INSERT INTO rooms (name, description, number, price, capacity, hotel_id)
+SELECT 'Room_' || r,
+       'Room_Description_' || r,
+       r % 20 + 1,
+       round((500 + random() * 9500)::numeric, 0),
+       (1 + r % 4)::smallint,
+       h.id
+FROM hotels h
+         CROSS JOIN generate_series(1, 20) AS r;
+
+INSERT INTO users (name, password, email)
+SELECT 'bench_user_' || u, 'password', 'bench_user_' || u || '@example.com'
+FROM generate_series(1, 100000) AS u;
+
+INSERT INTO bookings (arrival_date, departure_date, room_id, user_id)
+SELECT DATE '2230-01-01' + (k * 10 + (r.id % 7))::int,
+       DATE '2230-01-01' + (k * 10 + (r.id % 7) + 3)::int,
+       r.id,
+       (SELECT min(id) FROM users) + (r.id * 3 + k) % 100000
+FROM rooms r
+         CROSS JOIN generate_series(0, 2) AS k;
+
+INSERT INTO unavailable_dates (room_id, date)
+SELECT b.room_id, d::date
+FROM bookings b
+         CROSS JOIN LATERAL generate_series(b.arrival_date, b.departure_date, INTERVAL '1 day') AS d
+WHERE b.arrival_date < DATE '2230-01-11';
+
+ANALYZE hotels;
+ANALYZE rooms;
+ANALYZE users;
+ANALYZE bookings;
+ANALYZE unavailable_dates;
+
+\echo '==================== BEFORE: without the v.0.0.2 indexes ===================='
+
+SAVEPOINT before_indexes;
+
+DROP INDEX idx_hotels_city_distance;
+DROP INDEX idx_hotels_name;
+DROP INDEX idx_hotels_rating;
+DROP INDEX idx_rooms_hotel_price;
+DROP INDEX idx_rooms_capacity_price;
+DROP INDEX idx_bookings_room_arrival;
+DROP INDEX idx_bookings_user;
+ALTER TABLE unavailable_dates DROP CONSTRAINT uq_unavailable_dates_room_date;
+
+\ir query-plans-queries.sql
+
+ROLLBACK TO SAVEPOINT before_indexes;
+
+\echo '==================== AFTER: with the v.0.0.2 indexes ===================='
+
+\ir query-plans-queries.sql
+
+ROLLBACK;
@@ -0,0 +1,92 @@
+package ru.tkachenko.springbooking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.tkachenko.springbooking.model.Room;
+import ru.tkachenko.springbooking.model.UnavailableDate;
+import ru.tkachenko.springbooking.utils.DayBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check and reservation of a stay in a room booked for {@code density} of the year: the day
+ * bitmaps used by {@code DatabaseRoomAvailabilityService} against the former per-day
+ * {@link UnavailableDate} rows built by {@code createUnavailableDates}.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AvailabilityBenchmark {
+    private static final int YEAR = 2026;
+
+    @Param({"0.3", "0.8"})
+    private double density;
+
+    @Param({"3", "14"})
+    private int nights;
+
+    private final Room room = Room.builder().id(1L).build();
+
+    private byte[] days;
+    private List<UnavailableDate> unavailableDates;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        BitSet bitmap = new BitSet(DayBitmap.DAYS_IN_BUCKET);
+        unavailableDates = new ArrayList<>();
+        LocalDate day = LocalDate.of(YEAR, 1, 1);
+        while (day.getYear() == YEAR) {
+            if (random.nextDouble() < density) {
+                bitmap.set(day.getDayOfYear() - 1);
+                unavailableDates.add(new UnavailableDate(null, room, day));
+            }
+            day = day.plusDays(1);
+        }
+        days = DayBitmap.write(bitmap);
+
+        from = LocalDate.of(YEAR, 6, 1);
+        to = from.plusDays(nights);
+    }
+
+    @Benchmark
+    public boolean bitmapIsFree() {
+        return DayBitmap.isFree(DayBitmap.read(days), DayBitmap.fromIndex(YEAR, from), DayBitmap.toIndex(YEAR, to));
+    }
+
+    @Benchmark
+    public byte[] bitmapReserve() {
+        BitSet bitmap = DayBitmap.read(days);
+        bitmap.set(DayBitmap.fromIndex(YEAR, from), DayBitmap.toIndex(YEAR, to));
+        return DayBitmap.write(bitmap);
+    }
+
+    @Benchmark
+    public boolean dateListIsFree() {
+        return unavailableDates.stream()
+                .noneMatch(unavailableDate -> !unavailableDate.getDate().isBefore(from)
+                        && !unavailableDate.getDate().isAfter(to));
+    }
+
+    @Benchmark
+    public List<UnavailableDate> dateListReserve() {
+        List<UnavailableDate> result = new ArrayList<>();
+        LocalDate currentDate = from;
+        while (!currentDate.isAfter(to)) {
+            UnavailableDate unavailableDate = new UnavailableDate();
+            unavailableDate.setRoom(room);
+            unavailableDate.setDate(currentDate);
+            result.add(unavailableDate);
+            currentDate = currentDate.plusDays(1);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,46 @@
+package ru.tkachenko.springbooking.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.tkachenko.springbooking.dto.HotelListResponse;
+import ru.tkachenko.springbooking.dto.HotelResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a {@link HotelListResponse} page with an object mapper configured like the one
+ * Spring Boot builds for the controllers.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class HotelListJsonBenchmark {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private HotelListResponse response;
+
+    @Setup
+    public void setUp() {
+        List<HotelResponse> hotels = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            hotels.add(new HotelResponse((long) i, "Hotel_" + i, "Title Hotel " + i, "City_" + (i % 2 + 1),
+                    "Address_" + i, 1.5, 4.2, 42, Instant.now(), Instant.now()));
+        }
+        response = new HotelListResponse(hotels, 1000L, pageSize, 0, "eyJpZCI6MjB9");
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.tkachenko.springbooking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import ru.tkachenko.springbooking.controller.specification.HotelSpecification;
+import ru.tkachenko.springbooking.dto.HotelFilter;
+import ru.tkachenko.springbooking.model.Hotel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link Specification} for a hotel search, with no criteria and with every criterion set.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class HotelSpecificationBenchmark {
+    private HotelFilter emptyFilter;
+    private HotelFilter fullFilter;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = new HotelFilter();
+
+        fullFilter = new HotelFilter();
+        fullFilter.setId(1L);
+        fullFilter.setName("Hotel_1");
+        fullFilter.setTitle("Title Hotel 1");
+        fullFilter.setCity("City_1");
+        fullFilter.setAddress("Address_1");
+        fullFilter.setDistance(2.5);
+        fullFilter.setRating(4.0);
+        fullFilter.setNumberOfRatings(10);
+    }
+
+    @Benchmark
+    public Specification<Hotel> emptyFilter() {
+        return HotelSpecification.withFilter(emptyFilter);
+    }
+
+    @Benchmark
+    public Specification<Hotel> fullFilter() {
+        return HotelSpecification.withFilter(fullFilter);
+    }
+}
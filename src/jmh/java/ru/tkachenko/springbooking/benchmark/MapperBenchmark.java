@@ -0,0 +1,125 @@
+package ru.tkachenko.springbooking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+import ru.tkachenko.springbooking.dto.BookingResponse;
+import ru.tkachenko.springbooking.dto.HotelResponse;
+import ru.tkachenko.springbooking.dto.RoomResponse;
+import ru.tkachenko.springbooking.dto.UpsertHotelRequest;
+import ru.tkachenko.springbooking.mapper.BookingMapper;
+import ru.tkachenko.springbooking.mapper.BookingMapperImpl;
+import ru.tkachenko.springbooking.mapper.HotelMapper;
+import ru.tkachenko.springbooking.mapper.HotelMapperImpl;
+import ru.tkachenko.springbooking.mapper.RoomMapper;
+import ru.tkachenko.springbooking.mapper.RoomMapperImpl;
+import ru.tkachenko.springbooking.model.Booking;
+import ru.tkachenko.springbooking.model.Hotel;
+import ru.tkachenko.springbooking.model.Room;
+import ru.tkachenko.springbooking.model.User;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping done for every row of the list endpoints.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MapperBenchmark {
+    private final HotelMapper hotelMapper = new HotelMapperImpl();
+    private final RoomMapper roomMapper = new RoomMapperImpl();
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+
+    @Param({"20"})
+    private int pageSize;
+
+    private List<Hotel> hotels;
+    private UpsertHotelRequest hotelRequest;
+    private Room room;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        Field roomMapperField = ReflectionUtils.findField(BookingMapperImpl.class, "roomMapper");
+        ReflectionUtils.makeAccessible(roomMapperField);
+        ReflectionUtils.setField(roomMapperField, bookingMapper, roomMapper);
+
+        hotels = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            hotels.add(Hotel.builder()
+                    .id((long) i)
+                    .name("Hotel_" + i)
+                    .title("Title Hotel " + i)
+                    .city("City_" + (i % 2 + 1))
+                    .address("Address_" + i)
+                    .distanceFromCityCenter(1.5)
+                    .rating(4.2)
+                    .numberOfRatings(42)
+                    .ratingSum(176.4)
+                    .createAt(Instant.now())
+                    .updatedAt(Instant.now())
+                    .build());
+        }
+        hotelRequest = hotelMapper.entityToUpsertRequest(hotels.get(0));
+
+        room = Room.builder()
+                .id(1L)
+                .name("Room_1")
+                .description("Room_Description_1")
+                .number(1)
+                .price(100.0)
+                .capacity((byte) 2)
+                .hotel(hotels.get(0))
+                .createAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+
+        User user = User.builder()
+                .id(1L)
+                .name("User")
+                .email("user@mail.ru")
+                .createAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setArrivalDate(LocalDate.of(2026, 6, 1));
+        booking.setDepartureDate(LocalDate.of(2026, 6, 4));
+        booking.setRoom(room);
+        booking.setUser(user);
+        booking.setCreateAt(Instant.now());
+        booking.setUpdatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public HotelResponse hotelToResponse() {
+        return hotelMapper.entityToResponse(hotels.get(0));
+    }
+
+    @Benchmark
+    public List<HotelResponse> hotelPageToResponses() {
+        return hotels.stream().map(hotelMapper::entityToResponse).toList();
+    }
+
+    @Benchmark
+    public Hotel hotelRequestToEntity() {
+        return hotelMapper.requestToEntity(hotelRequest);
+    }
+
+    @Benchmark
+    public RoomResponse roomToResponse() {
+        return roomMapper.entityToResponse(room);
+    }
+
+    @Benchmark
+    public BookingResponse bookingToResponse() {
+        return bookingMapper.entityToResponse(booking);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.tkachenko.springbooking.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.tkachenko.springbooking.mapper.RoomMapper;
+import ru.tkachenko.springbooking.mapper.RoomMapperImpl;
+import ru.tkachenko.springbooking.mapper.UserMapper;
+import ru.tkachenko.springbooking.mapper.UserMapperImpl;
+import ru.tkachenko.springbooking.model.Hotel;
+import ru.tkachenko.springbooking.model.Room;
+import ru.tkachenko.springbooking.model.User;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partial update of an entity from a request: the reflective non-null field copy the services used to
+ * do, kept here as {@link #copyNonNullProperties}, against the MapStruct-generated copiers.
+ *
+ * <pre>./gradlew jmh</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PatchCopyBenchmark {
+    private final RoomMapper roomMapper = new RoomMapperImpl();
+    private final UserMapper userMapper = new UserMapperImpl();
+
+    private Room roomPatch;
+    private Room room;
+    private User userPatch;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Hotel hotel = Hotel.builder().id(1L).name("Hotel_1").build();
+
+        roomPatch = Room.builder()
+                .name("New Name")
+                .description("New Description")
+                .number(55)
+                .price(555.55)
+                .capacity((byte) 3)
+                .hotel(hotel)
+                .build();
+        room = Room.builder()
+                .id(1L)
+                .name("Room_1")
+                .description("Room_Description_1")
+                .number(1)
+                .price(100.0)
+                .capacity((byte) 2)
+                .hotel(hotel)
+                .unavailableDates(new ArrayList<>())
+                .bookings(new ArrayList<>())
+                .createAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+
+        userPatch = User.builder()
+                .name("New User")
+                .email("new_user@mail.ru")
+                .build();
+        user = User.builder()
+                .id(1L)
+                .name("User")
+                .password("password")
+                .email("user@mail.ru")
+                .roles(new ArrayList<>())
+                .bookings(new ArrayList<>())
+                .createAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    @Benchmark
+    public Room reflectiveRoomCopy() {
+        copyNonNullProperties(roomPatch, room);
+        return room;
+    }
+
+    @Benchmark
+    public Room generatedRoomCopy() {
+        roomMapper.updateRoom(roomPatch, room);
+        return room;
+    }
+
+    @Benchmark
+    public User reflectiveUserCopy() {
+        copyNonNullProperties(userPatch, user);
+        return user;
+    }
+
+    @Benchmark
+    public User generatedUserCopy() {
+        userMapper.updateUser(userPatch, user);
+        return user;
+    }
+
+    private static void copyNonNullProperties(Object source, Object destination) {
+        try {
+            for (Field field : source.getClass().getDeclaredFields()) {
+                field.setAccessible(true);
+                Object value = field.get(source);
+                if (value != null) {
+                    field.set(destination, value);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
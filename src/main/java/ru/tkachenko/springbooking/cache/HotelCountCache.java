@@ -0,0 +1,74 @@
+package ru.tkachenko.springbooking.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.tkachenko.springbooking.dto.HotelFilter;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class HotelCountCache {
+    private final Cache<HotelFilter, Long> cache;
+
+    public HotelCountCache(MeterRegistry meterRegistry,
+                           @Value("${app.hotel.count.maxSize}") long maxSize,
+                           @Value("${app.hotel.count.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hotels.count");
+    }
+
+    public Long get(HotelFilter filter, Function<HotelFilter, Long> loader) {
+        return cache.get(normalize(filter), loader);
+    }
+
+    public void invalidateAll() {
+        afterCommit(cache::invalidateAll);
+    }
+
+    public void invalidateRatingFilters() {
+        afterCommit(() -> cache.asMap().keySet().removeIf(filter ->
+                filter.getRating() != null || filter.getNumberOfRatings() != null));
+    }
+
+    /**
+     * Copies the filter so that later changes to the request object cannot corrupt the key,
+     * and so that filters with the same criteria share one entry.
+     */
+    private HotelFilter normalize(HotelFilter filter) {
+        HotelFilter key = new HotelFilter();
+        key.setId(filter.getId());
+        key.setName(filter.getName());
+        key.setTitle(filter.getTitle());
+        key.setCity(filter.getCity());
+        key.setAddress(filter.getAddress());
+        key.setDistance(filter.getDistance());
+        key.setRating(filter.getRating());
+        key.setNumberOfRatings(filter.getNumberOfRatings());
+        return key;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
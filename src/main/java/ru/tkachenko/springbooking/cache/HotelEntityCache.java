@@ -0,0 +1,41 @@
+package ru.tkachenko.springbooking.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.tkachenko.springbooking.model.Hotel;
+
+import java.util.Collection;
+
+/**
+ * Second-level cache invalidation for hotel rows changed by native statements: drops the given hotels and
+ * the cached query results, which may list them under their old values. Eviction happens right away, so
+ * the rest of the transaction reads the new row, and again after commit, so a concurrent reader cannot
+ * leave the pre-commit row in the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelEntityCache {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(Collection<Long> ids) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Runnable eviction = () -> {
+            ids.forEach(id -> cache.evictEntityData(Hotel.class, id));
+            cache.evictQueryRegions();
+        };
+
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
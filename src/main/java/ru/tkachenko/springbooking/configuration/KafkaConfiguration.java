@@ -6,13 +6,16 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import ru.tkachenko.springbooking.dto.Event;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -24,20 +27,43 @@ public class KafkaConfiguration {
     @Value("${app.kafka.kafkaMessageGroupId}")
     private String kafkaMessageGroupId;
 
+    @Value("${app.kafka.producer.lingerMs}")
+    private int lingerMs;
+
+    @Value("${app.kafka.producer.batchSize}")
+    private int batchSize;
+
+    @Value("${app.kafka.producer.compressionType}")
+    private String compressionType;
+
+    @Value("${app.kafka.consumer.maxPollRecords}")
+    private int maxPollRecords;
+
+    @Value("${app.kafka.consumer.concurrency}")
+    private int concurrency;
+
+    @Value("${app.hotel.vote.flushInterval}")
+    private Duration voteFlushInterval;
+
     @Bean
-    public <T> ProducerFactory<String, T> kafkaL (ObjectMapper objectMapper) {
+    public ProducerFactory<String, Event> eventProducerFactory(ObjectMapper objectMapper) {
         Map<String, Object> config = new HashMap<>();
 
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
 
         return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new JsonSerializer<>(objectMapper));
     }
 
     @Bean
-    public <T> KafkaTemplate<String, T> kafkaTemplate(ProducerFactory<String, T> kafkaL) {
-        return new KafkaTemplate<>(kafkaL);
+    public KafkaTemplate<String, Event> kafkaTemplate(ProducerFactory<String, Event> eventProducerFactory) {
+        return new KafkaTemplate<>(eventProducerFactory);
     }
 
     @Bean
@@ -48,6 +74,7 @@ public class KafkaConfiguration {
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaMessageGroupId);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
 
         return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), new JsonDeserializer<>(objectMapper));
@@ -57,6 +84,19 @@ public class KafkaConfiguration {
     public <T> ConcurrentKafkaListenerContainerFactory<String, T> kafkaListenerContainerFactory(ConsumerFactory<String, T> kafkaConsumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.hotel.vote", name = "async", havingValue = "true")
+    public <T> ConcurrentKafkaListenerContainerFactory<String, T> hotelVoteListenerContainerFactory(ConsumerFactory<String, T> kafkaConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, T> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setIdleBetweenPolls(voteFlushInterval.toMillis());
         return factory;
     }
 }
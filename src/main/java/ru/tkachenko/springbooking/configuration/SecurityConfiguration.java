@@ -1,11 +1,14 @@
 package ru.tkachenko.springbooking.configuration;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -17,6 +20,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import ru.tkachenko.springbooking.security.CachingAuthenticationProvider;
+import ru.tkachenko.springbooking.security.CredentialCache;
+import ru.tkachenko.springbooking.security.TokenAuthentication;
+import ru.tkachenko.springbooking.security.TokenAuthenticationFilter;
+import ru.tkachenko.springbooking.security.TokenService;
 
 @Configuration
 @EnableWebSecurity
@@ -31,22 +40,27 @@ public class SecurityConfiguration {
     @Bean
     public AuthenticationManager authenticationManager(HttpSecurity http,
                                                        UserDetailsService userDetailsService,
-                                                       PasswordEncoder passwordEncoder) throws Exception {
+                                                       PasswordEncoder passwordEncoder,
+                                                       CredentialCache credentialCache) throws Exception {
         var authManagerBuilder = http.getSharedObject(AuthenticationManagerBuilder.class);
-        authManagerBuilder.userDetailsService(userDetailsService);
 
         var authProvider = new DaoAuthenticationProvider(passwordEncoder);
         authProvider.setUserDetailsService(userDetailsService);
 
-        authManagerBuilder.authenticationProvider(authProvider);
+        authManagerBuilder.authenticationProvider(new CachingAuthenticationProvider(authProvider, credentialCache));
 
         return authManagerBuilder.build();
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http, AuthenticationManager authenticationManager) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           AuthenticationManager authenticationManager,
+                                           ObjectProvider<TokenService> tokenService) throws Exception {
         http.authorizeHttpRequests((auth) -> auth
                         .requestMatchers(HttpMethod.POST, "/api/user").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/auth/token").access((authentication, context) ->
+                                new AuthorizationDecision(authentication.get() instanceof UsernamePasswordAuthenticationToken
+                                        && !(authentication.get() instanceof TokenAuthentication)))
                         .requestMatchers("/api/user/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/hotel/**").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/hotel/{id}/vote/**").authenticated()
@@ -54,13 +68,16 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.GET, "/api/room/**").authenticated()
                         .requestMatchers("/api/room/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/booking").hasRole("ADMIN")
-                        .requestMatchers("/api/stats").hasRole("ADMIN")
+                        .requestMatchers("/api/stats/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .csrf(AbstractHttpConfigurer::disable)
                 .httpBasic(Customizer.withDefaults())
                 .sessionManagement(httpSecuritySessionManagementConfigurer ->
                         httpSecuritySessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationManager(authenticationManager);
+        tokenService.ifAvailable(service ->
+                http.addFilterBefore(new TokenAuthenticationFilter(service), BasicAuthenticationFilter.class));
         return http.build();
     }
 }
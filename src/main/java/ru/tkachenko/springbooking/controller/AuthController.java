@@ -0,0 +1,50 @@
+package ru.tkachenko.springbooking.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.tkachenko.springbooking.dto.TokenResponse;
+import ru.tkachenko.springbooking.security.AppUserPrincipal;
+import ru.tkachenko.springbooking.security.TokenService;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.security.token", name = "enabled", havingValue = "true")
+@Tag(name = "Auth", description = "Auth API")
+public class AuthController {
+    private final TokenService tokenService;
+
+    @Operation(
+            summary = "Issue token",
+            description = "Issue a short-lived signed token for the user authenticated with HTTP Basic"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Token issued",
+                    responseCode = "200",
+                    content = {
+                            @Content(schema = @Schema(implementation = TokenResponse.class), mediaType = "application/json")
+                    }
+            ),
+            @ApiResponse(
+                    description = "Request authenticated with a token instead of HTTP Basic",
+                    responseCode = "403"
+            )}
+    )
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> issueToken(@AuthenticationPrincipal AppUserPrincipal userPrincipal) {
+        TokenService.IssuedToken issuedToken = tokenService.issue(userPrincipal);
+        return ResponseEntity.ok(new TokenResponse(issuedToken.token(), issuedToken.expiresAt()));
+    }
+}
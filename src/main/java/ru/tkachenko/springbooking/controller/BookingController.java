@@ -1,6 +1,9 @@
 package ru.tkachenko.springbooking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.Parameters;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,17 +11,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.tkachenko.springbooking.dto.*;
 import ru.tkachenko.springbooking.mapper.BookingMapper;
 import ru.tkachenko.springbooking.model.Booking;
 import ru.tkachenko.springbooking.security.AppUserPrincipal;
 import ru.tkachenko.springbooking.service.BookingService;
+import ru.tkachenko.springbooking.utils.KeysetCursor;
+import ru.tkachenko.springbooking.utils.NdjsonWriter;
 
 import java.util.List;
 
@@ -29,11 +33,7 @@ import java.util.List;
 public class BookingController {
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
-
-    @Value("${app.kafka.kafkaRoomBookedEventTopic}")
-    private String topicName;
-
-    private final KafkaTemplate<String, RoomBookedEvent> kafkaTemplate;
+    private final ObjectMapper objectMapper;
 
     @Operation(
             summary = "Get bookings",
@@ -48,11 +48,44 @@ public class BookingController {
                     }
             )}
     )
+    @Parameters({
+            @Parameter(
+                    name = "pageSize",
+                    description = "Number of items per page, from 1 to 1000"
+            ),
+            @Parameter(
+                    name = "after",
+                    description = "Cursor of the next page from the X-Next-Cursor header of the previous response"
+            )
+    })
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> findAll() {
-        return ResponseEntity.ok(bookingService.findAll()
-                .stream().map(bookingMapper::entityToResponse)
-                .toList());
+    public ResponseEntity<List<BookingResponse>> findAll(@RequestParam(defaultValue = "20") int pageSize,
+                                                         @RequestParam(required = false) String after) {
+        KeysetCursor.checkPageSize(pageSize);
+        List<Booking> bookings = bookingService.findAll(KeysetCursor.decode(after), pageSize);
+        String nextCursor = KeysetCursor.next(bookings, pageSize, Booking::getId);
+        return ResponseEntity.ok()
+                .headers(headers -> {
+                    if (nextCursor != null) {
+                        headers.set(KeysetCursor.HEADER, nextCursor);
+                    }
+                })
+                .body(bookings.stream().map(bookingMapper::entityToResponse).toList());
+    }
+
+    @Operation(
+            summary = "Stream bookings",
+            description = "Stream all bookings as newline-delimited JSON"
+    )
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                        bookingService.streamAll(booking -> writer.write(bookingMapper.entityToResponse(booking)));
+                    }
+                });
     }
 
     @Operation(
@@ -77,8 +110,62 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<BookingResponse> create(@RequestBody @Valid UpsertBookingRequest request, @AuthenticationPrincipal AppUserPrincipal userPrincipal) {
         Booking newBooking = bookingService.save(userPrincipal.getUser(), bookingMapper.requestToEntity(request));
-        RoomBookedEvent event = new RoomBookedEvent(newBooking.getUser().getId(), newBooking.getArrivalDate().toString(), newBooking.getDepartureDate().toString());
-        kafkaTemplate.send(topicName, event);
         return ResponseEntity.status(HttpStatus.CREATED).body(bookingMapper.entityToResponse(newBooking));
     }
+
+    @Operation(
+            summary = "Create bookings in bulk",
+            description = "Book several rooms in one transaction. With atomic=false the bookings that cannot be made " +
+                    "are reported per item and the rest are created"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "All bookings created",
+                    responseCode = "201",
+                    content = {
+                            @Content(schema = @Schema(implementation = BatchBookingResponse.class), mediaType = "application/json")
+                    }
+            ),
+            @ApiResponse(
+                    description = "Bookings processed, see the status of each item",
+                    responseCode = "200",
+                    content = {
+                            @Content(schema = @Schema(implementation = BatchBookingResponse.class), mediaType = "application/json")
+                    }
+            ),
+            @ApiResponse(
+                    description = "Bad request",
+                    responseCode = "400",
+                    content = {
+                            @Content(schema = @Schema(implementation = ErrorResponse.class), mediaType = "application/json")
+                    }
+            ),
+            @ApiResponse(
+                    description = "A concurrent booking took the same dates, nothing was created",
+                    responseCode = "409",
+                    content = {
+                            @Content(schema = @Schema(implementation = ErrorResponse.class), mediaType = "application/json")
+                    }
+            )}
+    )
+    @Parameter(
+            name = "atomic",
+            description = "Reject the whole batch if any booking cannot be made"
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBatch(@RequestBody @Valid BatchBookingRequest request,
+                                                            @RequestParam(defaultValue = "true") boolean atomic,
+                                                            @AuthenticationPrincipal AppUserPrincipal userPrincipal) {
+        List<Booking> bookings = request.getBookings().stream()
+                .map(bookingMapper::requestToEntity)
+                .toList();
+
+        List<BatchBookingItemResponse> items = bookingService.saveAll(userPrincipal.getUser(), bookings, atomic).stream()
+                .map(bookingMapper::resultToResponse)
+                .toList();
+        int created = (int) items.stream().filter(BatchBookingItemResponse::isCreated).count();
+
+        return ResponseEntity.status(atomic ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(new BatchBookingResponse(items, created, items.size() - created));
+    }
 }
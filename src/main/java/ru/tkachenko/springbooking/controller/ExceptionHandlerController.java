@@ -64,6 +64,14 @@ public class ExceptionHandlerController {
                 .body(new ErrorResponse(e.getLocalizedMessage()));
     }
 
+    @ExceptionHandler(BookingConflictException.class)
+    public ResponseEntity<ErrorResponse> bookingConflict(BookingConflictException e) {
+        log.error("Конфликт при бронировании", e);
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(e.getLocalizedMessage()));
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> notAccess(AccessDeniedException e) {
         log.error("Access denied: {}", e.getMessage());
@@ -96,6 +104,30 @@ public class ExceptionHandlerController {
                 .body(new ErrorResponse(e.getLocalizedMessage()));
     }
 
+    @ExceptionHandler(PaginationException.class)
+    public ResponseEntity<ErrorResponse> paginationException(PaginationException e) {
+        log.error("Ошибка пагинации", e);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getLocalizedMessage()));
+    }
+
+    @ExceptionHandler(ImportException.class)
+    public ResponseEntity<ErrorResponse> importException(ImportException e) {
+        log.error("Ошибка импорта", e);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse(e.getLocalizedMessage()));
+    }
+
+    @ExceptionHandler(ExportRejectedException.class)
+    public ResponseEntity<ErrorResponse> exportRejected(ExportRejectedException e) {
+        log.error("Экспорт отклонён", e);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(new ErrorResponse(e.getLocalizedMessage()));
+    }
+
     @ExceptionHandler(CreateFolderException.class)
     public ResponseEntity<ErrorResponse> errorWithFileWork(CreateFolderException e) {
         log.error("Ошибка при работе с файлами", e);
@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -19,8 +20,14 @@ import org.springframework.web.bind.annotation.*;
 import ru.tkachenko.springbooking.dto.*;
 import ru.tkachenko.springbooking.mapper.HotelMapper;
 import ru.tkachenko.springbooking.model.Hotel;
+import ru.tkachenko.springbooking.model.ImportFormat;
+import ru.tkachenko.springbooking.service.HotelImportService;
 import ru.tkachenko.springbooking.service.HotelService;
+import ru.tkachenko.springbooking.service.HotelVoteService;
+import ru.tkachenko.springbooking.utils.KeysetCursor;
+import ru.tkachenko.springbooking.utils.NdjsonWriter;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -30,6 +37,8 @@ import java.util.List;
 public class HotelController {
     private final HotelService hotelService;
     private final HotelMapper hotelMapper;
+    private final ObjectProvider<HotelVoteService> hotelVoteService;
+    private final HotelImportService hotelImportService;
 
     @Operation(
             summary = "Get hotels",
@@ -55,24 +64,34 @@ public class HotelController {
             ),
             @Parameter(
                     name = "pageNumber",
-                    description = "Page number"
+                    description = "Page number, ignored when the cursor is set"
+            ),
+            @Parameter(
+                    name = "after",
+                    description = "Cursor of the next page from the previous response"
             )
     })
     @GetMapping
     public ResponseEntity<HotelListResponse> findAll(@ModelAttribute HotelFilter filter,
                                                      @RequestParam(defaultValue = "20") int pageSize,
-                                                     @RequestParam(defaultValue = "0") int pageNumber) {
+                                                     @RequestParam(defaultValue = "0") int pageNumber,
+                                                     @RequestParam(required = false) String after) {
+        KeysetCursor.checkPageSize(pageSize);
         Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("id"));
 
-        List<HotelResponse> hotelResponses = hotelService.findAll(pageable, filter)
-                .stream().map(hotelMapper::entityToResponse)
+        List<Hotel> hotels = after == null
+                ? hotelService.findAll(pageable, filter)
+                : hotelService.findAllAfter(KeysetCursor.decode(after), pageSize, filter);
+        List<HotelResponse> hotelResponses = hotels.stream()
+                .map(hotelMapper::entityToResponse)
                 .toList();
 
         return ResponseEntity.ok(new HotelListResponse(
                         hotelResponses,
-                        hotelService.count(),
+                        hotelService.count(filter),
                         pageable.getPageSize(),
-                        pageable.getPageNumber()
+                        pageable.getPageNumber(),
+                        KeysetCursor.next(hotels, pageSize, Hotel::getId)
                 )
         );
     }
@@ -193,6 +212,10 @@ public class HotelController {
                             @Content(schema = @Schema(implementation = HotelResponse.class), mediaType = "application/json")
                     }
             ),
+            @ApiResponse(
+                    description = "Vote accepted for asynchronous processing",
+                    responseCode = "202"
+            ),
             @ApiResponse(
                     description = "Bad request",
                     responseCode = "400",
@@ -220,7 +243,47 @@ public class HotelController {
     })
     @PutMapping("/{id}/vote/{newMark}")
     public ResponseEntity<HotelResponse> vote(@PathVariable Long id, @PathVariable int newMark) {
+        HotelVoteService voteService = hotelVoteService.getIfAvailable();
+        if (voteService != null) {
+            voteService.submit(id, newMark);
+            return ResponseEntity.accepted().build();
+        }
+
         Hotel hotel = hotelService.updateRating(id, newMark);
         return ResponseEntity.ok(hotelMapper.entityToResponse(hotel));
     }
+
+    @Operation(
+            summary = "Import hotels",
+            description = "Bulk import of hotels with their rooms from NDJSON (one hotel per line) or CSV " +
+                    "(one room per row, consecutive rows of the same hotel are grouped)"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    description = "Import finished",
+                    responseCode = "200",
+                    content = {
+                            @Content(schema = @Schema(implementation = ImportReport.class), mediaType = "application/json")
+                    }
+            ),
+            @ApiResponse(
+                    description = "Malformed input",
+                    responseCode = "400",
+                    content = {
+                            @Content(schema = @Schema(implementation = ErrorResponse.class), mediaType = "application/json")
+                    }
+            )
+    })
+    @PostMapping(value = "/import", consumes = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importNdjson(InputStream body) {
+        return ResponseEntity.ok(hotelImportService.importHotels(body, ImportFormat.NDJSON));
+    }
+
+    @Operation(
+            summary = "Import hotels from CSV"
+    )
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportReport> importCsv(InputStream body) {
+        return ResponseEntity.ok(hotelImportService.importHotels(body, ImportFormat.CSV));
+    }
 }
@@ -16,6 +16,7 @@ import ru.tkachenko.springbooking.dto.*;
 import ru.tkachenko.springbooking.mapper.RoomMapper;
 import ru.tkachenko.springbooking.model.Room;
 import ru.tkachenko.springbooking.service.RoomService;
+import ru.tkachenko.springbooking.utils.KeysetCursor;
 
 import java.util.List;
 
@@ -46,7 +47,16 @@ public class RoomController {
     )
     @GetMapping
     public ResponseEntity<List<RoomResponse>> findAll(RoomFilter filter) {
-        return ResponseEntity.ok(roomService.findAll(filter).stream().map(roomMapper::entityToResponse).toList());
+        KeysetCursor.checkPageSize(filter.getPageSize());
+        List<Room> rooms = roomService.findAll(filter);
+        String nextCursor = KeysetCursor.next(rooms, filter.getPageSize(), Room::getId);
+        return ResponseEntity.ok()
+                .headers(headers -> {
+                    if (nextCursor != null) {
+                        headers.set(KeysetCursor.HEADER, nextCursor);
+                    }
+                })
+                .body(rooms.stream().map(roomMapper::entityToResponse).toList());
     }
 
     @Operation(
@@ -4,16 +4,31 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.tkachenko.springbooking.dto.ExportJobResponse;
+import ru.tkachenko.springbooking.mapper.StatisticMapper;
+import ru.tkachenko.springbooking.model.ExportJob;
+import ru.tkachenko.springbooking.model.StatisticType;
 import ru.tkachenko.springbooking.service.StatisticService;
 
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
 @RestController
 @RequestMapping("api/stats")
 @RequiredArgsConstructor
 @Tag(name = "Statistics", description = "Statistics API")
 public class StatisticsController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
     private final StatisticService statisticService;
+    private final StatisticMapper statisticMapper;
 
     @Operation(
             summary = "Get statistics",
@@ -28,4 +43,62 @@ public class StatisticsController {
         statisticService.exportDataToCsv(pathToFolder);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+            summary = "Start statistics export",
+            description = "Export all statistics to CSV files in the background, returns the export job. " +
+                    "Responds with 429 when app.statistics.export.maxConcurrentJobs exports are already running"
+    )
+    @Parameter(
+            name = "pathToFolder",
+            description = "Path to the folder for exporting the statistics in CSV format"
+    )
+    @PostMapping("/export")
+    public ResponseEntity<ExportJobResponse> startExport(@RequestParam String pathToFolder) {
+        ExportJob job = statisticService.startExport(pathToFolder);
+        return ResponseEntity.accepted().body(statisticMapper.jobToResponse(job));
+    }
+
+    @Operation(
+            summary = "Get statistics export",
+            description = "Get status of the statistics export job"
+    )
+    @GetMapping("/export/{jobId}")
+    public ResponseEntity<ExportJobResponse> getExport(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(statisticMapper.jobToResponse(statisticService.findExportJob(jobId)));
+    }
+
+    @Operation(
+            summary = "Download statistics",
+            description = "Stream statistics of the given type (room-booked, user-registered) as CSV"
+    )
+    @GetMapping("/{type}.csv")
+    public ResponseEntity<StreamingResponseBody> downloadCsv(@PathVariable String type) {
+        StatisticType statisticType = StatisticType.fromSlug(type);
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(statisticType.getFileName() + ".csv"))
+                .body(out -> statisticService.writeCsv(statisticType, out));
+    }
+
+    @Operation(
+            summary = "Download compressed statistics",
+            description = "Stream statistics of the given type (room-booked, user-registered) as gzipped CSV"
+    )
+    @GetMapping("/{type}.csv.gz")
+    public ResponseEntity<StreamingResponseBody> downloadCsvGzip(@PathVariable String type) {
+        StatisticType statisticType = StatisticType.fromSlug(type);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(statisticType.getFileName() + ".csv.gz"))
+                .body(out -> {
+                    GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16);
+                    statisticService.writeCsv(statisticType, gzip);
+                    gzip.finish();
+                });
+    }
+
+    private String attachment(String fileName) {
+        return ContentDisposition.attachment().filename(fileName).build().toString();
+    }
 }
@@ -1,5 +1,6 @@
 package ru.tkachenko.springbooking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -10,15 +11,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.tkachenko.springbooking.dto.*;
 import ru.tkachenko.springbooking.mapper.UserMapper;
 import ru.tkachenko.springbooking.model.User;
 import ru.tkachenko.springbooking.service.UserService;
+import ru.tkachenko.springbooking.utils.NdjsonWriter;
 
 @RestController
 @RequestMapping("/api/user")
@@ -27,11 +28,22 @@ import ru.tkachenko.springbooking.service.UserService;
 public class UserController {
     private final UserService userService;
     private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
 
-    @Value("${app.kafka.kafkaUserRegistryEventTopic}")
-    private String topicName;
-
-    private final KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate;
+    @Operation(
+            summary = "Stream users",
+            description = "Stream all users as newline-delimited JSON"
+    )
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+                        userService.streamAll(user -> writer.write(userMapper.entityToResponse(user)));
+                    }
+                });
+    }
 
     @Operation(
             summary = "Create user"
@@ -61,8 +73,6 @@ public class UserController {
     public ResponseEntity<UserResponse> create(@RequestBody @Valid UpsertUserRequest request,
                                                @RequestParam String roleType) {
         User newUser = userService.save(userMapper.requestToEntity(request), roleType);
-        UserRegisteredEvent event = new UserRegisteredEvent(newUser.getId());
-        kafkaTemplate.send(topicName, event);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(userMapper.entityToResponse(newUser));
     }
@@ -0,0 +1,14 @@
+package ru.tkachenko.springbooking.controller.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public interface KeysetSpecification {
+    static <T> Specification<T> idAfter(Long id) {
+        return (root, query, criteriaBuilder) -> {
+            if (id == null) {
+                return null;
+            }
+            return criteriaBuilder.greaterThan(root.get("id"), id);
+        };
+    }
+}
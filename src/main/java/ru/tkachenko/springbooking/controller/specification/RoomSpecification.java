@@ -1,11 +1,12 @@
 package ru.tkachenko.springbooking.controller.specification;
 
-import jakarta.persistence.criteria.*;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import ru.tkachenko.springbooking.dto.RoomFilter;
-import ru.tkachenko.springbooking.model.Booking;
 import ru.tkachenko.springbooking.model.Hotel;
 import ru.tkachenko.springbooking.model.Room;
+import ru.tkachenko.springbooking.model.RoomAvailability;
 
 import java.time.LocalDate;
 
@@ -15,7 +16,6 @@ public interface RoomSpecification {
                 .and(byName(filter.getName()))
                 .and(byPrice(filter.getMinPrice(), filter.getMaxPrice()))
                 .and(byCountGuest(filter.getCountGuest()))
-                .and(byDate(filter.getArrivalDate(), filter.getDepartureDate()))
                 .and(byHotelId(filter.getHotelId()));
     }
 
@@ -62,29 +62,25 @@ public interface RoomSpecification {
         };
     }
 
-    static Specification<Room> byDate(String from, String to) {
+    /**
+     * Keeps rooms that have no reserved day in the stay. The day bitmaps are tested in the database by
+     * {@code day_bitmap_busy}, one primary key lookup per candidate room.
+     */
+    static Specification<Room> availableBetween(LocalDate from, LocalDate to) {
         return (root, query, criteriaBuilder) -> {
-            if (from == null || to == null) {
-                return null;
-            }
-            LocalDate fromDate = LocalDate.parse(from);
-            LocalDate toDate = LocalDate.parse(to);
-
-            Predicate isBookedOnDateRange = criteriaBuilder.or(
-                    criteriaBuilder.between(root.get(Room.Fields.bookings).get(Booking.Fields.arrivalDate), fromDate, toDate),
-                    criteriaBuilder.between(root.get(Room.Fields.bookings).get(Booking.Fields.departureDate), fromDate, toDate),
-                    criteriaBuilder.and(
-                            criteriaBuilder.lessThanOrEqualTo(root.get(Room.Fields.bookings).get(Booking.Fields.arrivalDate), fromDate),
-                            criteriaBuilder.greaterThanOrEqualTo(root.get(Room.Fields.bookings).get(Booking.Fields.departureDate), toDate)
-                    )
-            );
-
-            Subquery<Long> bookedRoomsSubquery = query.subquery(Long.class);
-            Root<Booking> bookingRoot = bookedRoomsSubquery.from(Booking.class);
-            bookedRoomsSubquery.select(bookingRoot.get(Booking.Fields.room).get(Room.Fields.id));
-            bookedRoomsSubquery.where(isBookedOnDateRange);
-
-            return criteriaBuilder.not(root.get(Room.Fields.id).in(bookedRoomsSubquery));
+            Subquery<Integer> busy = query.subquery(Integer.class);
+            Root<RoomAvailability> availability = busy.from(RoomAvailability.class);
+            busy.select(criteriaBuilder.literal(1))
+                    .where(
+                            criteriaBuilder.equal(availability.get(RoomAvailability.Fields.roomId), root.get(Room.Fields.id)),
+                            criteriaBuilder.between(availability.get(RoomAvailability.Fields.year), from.getYear(), to.getYear()),
+                            criteriaBuilder.isTrue(criteriaBuilder.function("day_bitmap_busy", Boolean.class,
+                                    availability.get(RoomAvailability.Fields.days),
+                                    availability.get(RoomAvailability.Fields.year),
+                                    criteriaBuilder.literal(from),
+                                    criteriaBuilder.literal(to)))
+                    );
+            return criteriaBuilder.not(criteriaBuilder.exists(busy));
         };
     }
 
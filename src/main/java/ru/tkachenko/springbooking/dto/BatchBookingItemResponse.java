@@ -0,0 +1,15 @@
+package ru.tkachenko.springbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingItemResponse {
+    private int index;
+    private boolean created;
+    private BookingResponse booking;
+    private String errorMessage;
+}
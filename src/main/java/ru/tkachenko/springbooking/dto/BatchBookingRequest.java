@@ -0,0 +1,19 @@
+package ru.tkachenko.springbooking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingRequest {
+    @NotEmpty(message = "Укажите бронирования!")
+    @Size(max = 500, message = "За один запрос можно забронировать не более 500 комнат!")
+    private List<@Valid UpsertBookingRequest> bookings;
+}
@@ -0,0 +1,16 @@
+package ru.tkachenko.springbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResponse {
+    private List<BatchBookingItemResponse> items;
+    private int created;
+    private int rejected;
+}
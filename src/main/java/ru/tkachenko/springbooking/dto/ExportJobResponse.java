@@ -0,0 +1,23 @@
+package ru.tkachenko.springbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.tkachenko.springbooking.model.ExportStatus;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobResponse {
+    private UUID id;
+    private String pathToFolder;
+    private ExportStatus status;
+    private Map<String, Long> exportedRows;
+    private Instant createAt;
+    private Instant finishAt;
+    private String error;
+}
@@ -14,4 +14,5 @@ public class HotelListResponse {
     private Long countHotels;
     private int pageSize;
     private int pageNumber;
+    private String nextCursor;
 }
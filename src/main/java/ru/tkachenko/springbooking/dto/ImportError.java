@@ -0,0 +1,13 @@
+package ru.tkachenko.springbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportError {
+    private long line;
+    private String message;
+}
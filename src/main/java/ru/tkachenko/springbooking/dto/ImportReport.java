@@ -0,0 +1,18 @@
+package ru.tkachenko.springbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+    private long hotelsImported;
+    private long roomsImported;
+    private long rejected;
+    private List<ImportError> errors = new ArrayList<>();
+}
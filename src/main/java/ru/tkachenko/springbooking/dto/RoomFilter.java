@@ -16,4 +16,5 @@ public class RoomFilter {
     private Long hotelId;
     private Integer pageSize = 20;
     private Integer pageNumber = 0;
+    private String after;
 }
@@ -0,0 +1,11 @@
+package ru.tkachenko.springbooking.exception;
+
+public class ExportRejectedException extends RuntimeException {
+    public ExportRejectedException(String message) {
+        super(message);
+    }
+
+    public ExportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.tkachenko.springbooking.exception;
+
+public class PaginationException extends RuntimeException {
+    public PaginationException(String message) {
+        super(message);
+    }
+}
@@ -1,29 +1,97 @@
 package ru.tkachenko.springbooking.init;
 
+import com.opencsv.CSVWriter;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
-import ru.tkachenko.springbooking.model.*;
-import ru.tkachenko.springbooking.repository.*;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.tkachenko.springbooking.model.RoleType;
+import ru.tkachenko.springbooking.repository.HotelRepository;
+import ru.tkachenko.springbooking.utils.DayBitmap;
+import ru.tkachenko.springbooking.utils.PgCopy;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Seeds the database with synthetic hotels, rooms, users and bookings. Chunks are generated on a
+ * thread pool, each in its own transaction, and loaded with COPY; the password hash is computed once
+ * for all users. Bookings of a room never overlap, and the matching availability bitmaps are written
+ * alongside them.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(prefix = "app.database.init", name = "enabled", havingValue = "true")
 public class InitDatabase {
+    private static final String COPY_USERS = "COPY users (id, name, password, email, create_at, updated_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_USER_ROLES = "COPY user_role (id, authority, user_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_HOTELS = "COPY hotels (id, name, title, city, address, distance_from_city_center, " +
+            "rating, number_of_ratings, rating_sum, create_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_ROOMS = "COPY rooms (id, name, description, number, price, capacity, hotel_id, " +
+            "create_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_BOOKINGS = "COPY bookings (id, arrival_date, departure_date, room_id, user_id, " +
+            "create_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_AVAILABILITY = "COPY room_availability (room_id, year, days) FROM STDIN WITH (FORMAT csv)";
+    private static final int MAX_NIGHTS = 7;
+
     private final HotelRepository hotelRepository;
-    private final RoomRepository roomRepository;
-    private final UnavailableDateRepository unavailableDateRepository;
-    private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final int hotels;
+    private final int roomsPerHotel;
+    private final int users;
+    private final int cities;
+    private final double bookingDensity;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int threads;
+    private final String password;
+
+    public InitDatabase(HotelRepository hotelRepository,
+                        PasswordEncoder passwordEncoder,
+                        DataSource dataSource,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${app.database.init.hotels}") int hotels,
+                        @Value("${app.database.init.roomsPerHotel}") int roomsPerHotel,
+                        @Value("${app.database.init.users}") int users,
+                        @Value("${app.database.init.cities}") int cities,
+                        @Value("${app.database.init.bookingDensity}") double bookingDensity,
+                        @Value("${app.database.init.horizonDays}") int horizonDays,
+                        @Value("${app.database.init.batchSize}") int batchSize,
+                        @Value("${app.database.init.threads}") int threads,
+                        @Value("${app.database.init.password}") String password) {
+        this.hotelRepository = hotelRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.dataSource = dataSource;
+        this.transactionTemplate = transactionTemplate;
+        this.hotels = hotels;
+        this.roomsPerHotel = roomsPerHotel;
+        this.users = users;
+        this.cities = cities;
+        this.bookingDensity = bookingDensity;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.threads = threads;
+        this.password = password;
+    }
 
     @PostConstruct
     public void initData() {
@@ -31,73 +99,176 @@ public class InitDatabase {
             log.info("В базе уже есть записи!");
             return;
         }
+        if (users == 0 && bookingDensity > 0) {
+            throw new IllegalStateException("Для генерации бронирований нужен хотя бы один пользователь!");
+        }
 
-        int countHotels = 5;
-        int countRoomsInHotel = 7;
-        int countUser = 5;
+        long started = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(password);
+        long[] userIds = new long[users];
 
-        for (int i = 0; i < countUser; ) {
-            User user = User.builder()
-                    .name("User_" + ++i)
-                    .password(passwordEncoder.encode("111"))
-                    .email("mail_" + i)
-                    .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runInChunks(executor, users, (connection, from, to) -> insertUsers(connection, from, to, passwordHash, userIds));
+            long bookings = runInChunks(executor, hotels, (connection, from, to) -> insertHotels(connection, from, to, userIds));
 
-            UserRole role = UserRole.from(i % 2 == 0 ? RoleType.ROLE_USER : RoleType.ROLE_ADMIN, user);
+            log.info("База заполнена за {} мс: {} отелей, {} комнат, {} пользователей, {} бронирований",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    hotels, (long) hotels * roomsPerHotel, users, bookings);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
-            user.setRoles(Collections.singletonList(role));
+    private long runInChunks(ExecutorService executor, int total, ChunkWriter writer) {
+        List<CompletableFuture<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < total; from += batchSize) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(total, from + batchSize);
+            chunks.add(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+                try {
+                    return writer.write(DataSourceUtils.getConnection(dataSource), chunkFrom, chunkTo);
+                } catch (SQLException | IOException e) {
+                    throw new IllegalStateException("Не удалось заполнить базу: " + e.getMessage(), e);
+                }
+            }), executor));
+        }
+        return chunks.stream().mapToLong(CompletableFuture::join).sum();
+    }
 
-            userRepository.saveAndFlush(user);
+    private long insertUsers(Connection connection, int from, int to, String passwordHash, long[] userIds)
+            throws SQLException, IOException {
+        int count = to - from;
+        long[] ids = PgCopy.allocateIds(connection, "users_id_seq", count);
+        long[] roleIds = PgCopy.allocateIds(connection, "user_role_id_seq", count);
+        String now = PgCopy.timestamp();
+
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_USERS)) {
+            for (int i = 0; i < count; i++) {
+                int number = from + i + 1;
+                writer.writeNext(new String[]{
+                        String.valueOf(ids[i]), "User_" + number, passwordHash, "mail_" + number, now, now
+                }, false);
+            }
         }
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_USER_ROLES)) {
+            for (int i = 0; i < count; i++) {
+                RoleType role = (from + i + 1) % 2 == 0 ? RoleType.ROLE_USER : RoleType.ROLE_ADMIN;
+                writer.writeNext(new String[]{String.valueOf(roleIds[i]), role.name(), String.valueOf(ids[i])}, false);
+            }
+        }
+
+        System.arraycopy(ids, 0, userIds, from, count);
+        return 0;
+    }
+
+    private long insertHotels(Connection connection, int from, int to, long[] userIds) throws SQLException, IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = to - from;
+        long[] hotelIds = PgCopy.allocateIds(connection, "hotels_id_seq", count);
+        long[] roomIds = PgCopy.allocateIds(connection, "rooms_id_seq", count * roomsPerHotel);
+        String now = PgCopy.timestamp();
 
-        for (int i = 1; i <= countHotels; i++) {
-            Hotel hotel = Hotel.builder()
-                    .name("Hotel_" + i)
-                    .title("Title Hotel " + i)
-                    .city(i % 2 == 0 ? "City_1" : "City_2")
-                    .address("Address_" + i)
-                    .distanceFromCityCenter(Math.round((0.5 + (5 - 0.5) * new Random().nextDouble()) * 100.0) / 100.0)
-                    .rating(Math.round((0.5 + (5 - 0.5) * new Random().nextDouble()) * 100.0) / 100.0)
-                    .numberOfRatings(new Random().nextInt((100 - 5) + 1) + 5)
-                    .build();
-            hotel = hotelRepository.save(hotel);
-
-            for (int j = 1; j <= countRoomsInHotel; j++) {
-                Room room = Room.builder()
-                        .name("RoomName_" + i + j)
-                        .description("RoomDescription_" + i + j)
-                        .number(j)
-                        .price(Math.round((1000 + (5000 - 1000) * new Random().nextDouble()) * 100.0) / 100.0)
-                        .capacity((byte) (new Random().nextInt((5 - 1) + 1) + 1))
-                        .hotel(hotel)
-                        .build();
-                room = roomRepository.save(room);
-
-                LocalDate from = null, to = null;
-
-                for (int k = 0; k < 4; ) {
-                    LocalDate date = LocalDate.now().plusDays(++k + j);
-
-                    if (k == 1) {
-                        from = date;
-                    }
-
-                    to = date;
-
-                    UnavailableDate unavailableDate = new UnavailableDate();
-                    unavailableDate.setDate(date);
-                    unavailableDate.setRoom(room);
-                    unavailableDateRepository.save(unavailableDate);
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_HOTELS)) {
+            for (int i = 0; i < count; i++) {
+                int number = from + i + 1;
+                double rating = round(random.nextDouble(0.5, 5));
+                int numberOfRatings = random.nextInt(5, 101);
+                writer.writeNext(new String[]{
+                        String.valueOf(hotelIds[i]), "Hotel_" + number, "Title Hotel " + number,
+                        "City_" + (number % cities + 1), "Address_" + number,
+                        String.valueOf(round(random.nextDouble(0.5, 5))),
+                        String.valueOf(rating), String.valueOf(numberOfRatings),
+                        String.valueOf(round(rating * numberOfRatings)), now, now
+                }, false);
+            }
+        }
+
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_ROOMS)) {
+            for (int i = 0; i < count; i++) {
+                int hotelNumber = from + i + 1;
+                for (int j = 1; j <= roomsPerHotel; j++) {
+                    writer.writeNext(new String[]{
+                            String.valueOf(roomIds[i * roomsPerHotel + j - 1]), "RoomName_" + hotelNumber + j,
+                            "RoomDescription_" + hotelNumber + j, String.valueOf(j),
+                            String.valueOf(round(random.nextDouble(1000, 5000))),
+                            String.valueOf(random.nextInt(1, 6)), String.valueOf(hotelIds[i]), now, now
+                    }, false);
                 }
+            }
+        }
 
-                Booking booking = new Booking();
-                booking.setArrivalDate(from);
-                booking.setDepartureDate(to);
-                booking.setRoom(room);
-                booking.setUser(userRepository.findById((long) i).orElse(null));
+        if (bookingDensity <= 0) {
+            return 0;
+        }
+
+        List<Stay> stays = new ArrayList<>();
+        List<String[]> availability = new ArrayList<>();
+        for (long roomId : roomIds) {
+            generateStays(roomId, userIds, random, stays, availability);
+        }
+
+        long[] bookingIds = PgCopy.allocateIds(connection, "bookings_id_seq", stays.size());
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_BOOKINGS)) {
+            for (int i = 0; i < stays.size(); i++) {
+                Stay stay = stays.get(i);
+                writer.writeNext(new String[]{
+                        String.valueOf(bookingIds[i]), stay.arrival().toString(), stay.departure().toString(),
+                        String.valueOf(stay.roomId()), String.valueOf(stay.userId()), now, now
+                }, false);
+            }
+        }
+        try (CSVWriter writer = PgCopy.writer(connection, COPY_AVAILABILITY)) {
+            for (String[] row : availability) {
+                writer.writeNext(row, false);
+            }
+        }
+
+        log.info("Сгенерированы отели {}-{}: {} бронирований", from + 1, to, stays.size());
+        return stays.size();
+    }
 
-                bookingRepository.save(booking);
+    /**
+     * Walks the horizon of one room placing stays of 1..MAX_NIGHTS nights separated by random gaps
+     * sized so that the booked share of days approaches {@code bookingDensity}. Stays are closed
+     * ranges, so the next arrival is at least a day after the previous departure.
+     */
+    private void generateStays(long roomId, long[] userIds, ThreadLocalRandom random,
+                               List<Stay> stays, List<String[]> availability) {
+        double meanBookedDays = (1 + MAX_NIGHTS) / 2.0 + 1;
+        int maxGap = (int) Math.round(2 * Math.max(0, meanBookedDays / Math.min(1, bookingDensity) - meanBookedDays - 1));
+
+        LocalDate end = LocalDate.now().plusDays(horizonDays);
+        LocalDate cursor = LocalDate.now().plusDays(1 + random.nextInt(maxGap + 1));
+        TreeMap<Integer, BitSet> years = new TreeMap<>();
+        while (true) {
+            LocalDate departure = cursor.plusDays(random.nextInt(1, MAX_NIGHTS + 1));
+            if (departure.isAfter(end)) {
+                break;
+            }
+
+            stays.add(new Stay(roomId, userIds[random.nextInt(userIds.length)], cursor, departure));
+            for (int year = cursor.getYear(); year <= departure.getYear(); year++) {
+                years.computeIfAbsent(year, key -> new BitSet(DayBitmap.DAYS_IN_BUCKET))
+                        .set(DayBitmap.fromIndex(year, cursor), DayBitmap.toIndex(year, departure));
             }
+            cursor = departure.plusDays(1 + random.nextInt(maxGap + 1));
         }
+
+        years.forEach((year, days) -> availability.add(new String[]{
+                String.valueOf(roomId), String.valueOf(year), PgCopy.bytea(DayBitmap.write(days))
+        }));
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        long write(Connection connection, int from, int to) throws SQLException, IOException;
+    }
+
+    private record Stay(long roomId, long userId, LocalDate arrival, LocalDate departure) {
     }
 }
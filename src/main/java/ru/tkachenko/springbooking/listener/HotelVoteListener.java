@@ -0,0 +1,44 @@
+package ru.tkachenko.springbooking.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import ru.tkachenko.springbooking.dto.HotelVoteEvent;
+import ru.tkachenko.springbooking.service.HotelVoteService;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.hotel.vote", name = "async", havingValue = "true")
+public class HotelVoteListener implements ConsumerSeekAware {
+    private final HotelVoteService hotelVoteService;
+
+    @KafkaListener(topics = "${app.kafka.kafkaHotelVoteTopic}",
+            groupId = "${app.kafka.kafkaMessageGroupId}",
+            containerFactory = "hotelVoteListenerContainerFactory")
+    public void listenHotelVotes(List<ConsumerRecord<String, HotelVoteEvent>> records) {
+        int applied = hotelVoteService.apply(records);
+        log.debug("Received {} hotel votes, applied {}", records.size(), applied);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<Integer, Long> offsets = hotelVoteService.findOffsets();
+        assignments.keySet().forEach(partition -> {
+            Long offset = offsets.get(partition.partition());
+            if (offset != null) {
+                callback.seek(partition.topic(), partition.partition(), offset);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package ru.tkachenko.springbooking.mapper;
 
 import org.mapstruct.*;
+import ru.tkachenko.springbooking.dto.BatchBookingItemResponse;
 import ru.tkachenko.springbooking.dto.BookingResponse;
 import ru.tkachenko.springbooking.dto.UpsertBookingRequest;
+import ru.tkachenko.springbooking.model.BatchBookingResult;
 import ru.tkachenko.springbooking.model.Booking;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE,
@@ -19,4 +21,6 @@ public interface BookingMapper {
     Booking requestToEntity(Long id, UpsertBookingRequest request);
 
     BookingResponse entityToResponse(Booking booking);
+
+    BatchBookingItemResponse resultToResponse(BatchBookingResult result);
 }
@@ -11,6 +11,6 @@ public class HotelMap {
     private final HotelService hotelService;
 
     public Hotel fromId(Long id) {
-        return id != null ? hotelService.findById(id) : null;
+        return id != null ? hotelService.getReference(id) : null;
     }
 }
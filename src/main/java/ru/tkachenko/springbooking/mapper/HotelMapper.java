@@ -19,6 +19,7 @@ public interface HotelMapper {
             @Mapping(target = "id", ignore = true),
             @Mapping(target = "rating", ignore = true),
             @Mapping(target = "numberOfRatings", ignore = true),
+            @Mapping(target = "ratingSum", ignore = true),
             @Mapping(target = "createAt", ignore = true),
             @Mapping(target = "updatedAt", ignore = true),
             @Mapping(target = "rooms", ignore = true)
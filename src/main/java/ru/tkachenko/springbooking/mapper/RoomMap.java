@@ -11,6 +11,6 @@ public class RoomMap {
     private final RoomService roomService;
 
     public Room fromId(Long id) {
-        return id != null ? roomService.findById(id) : null;
+        return id != null ? roomService.getReference(id) : null;
     }
 }
@@ -28,4 +28,14 @@ public interface RoomMapper {
             @Mapping(target = "hotelId", source = "hotel.id")
     })
     RoomResponse entityToResponse(Room room);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mappings({
+            @Mapping(target = "id", ignore = true),
+            @Mapping(target = "unavailableDates", ignore = true),
+            @Mapping(target = "bookings", ignore = true),
+            @Mapping(target = "createAt", ignore = true),
+            @Mapping(target = "updatedAt", ignore = true)
+    })
+    void updateRoom(Room sourceRoom, @MappingTarget Room targetRoom);
 }
@@ -0,0 +1,11 @@
+package ru.tkachenko.springbooking.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import ru.tkachenko.springbooking.dto.ExportJobResponse;
+import ru.tkachenko.springbooking.model.ExportJob;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface StatisticMapper {
+    ExportJobResponse jobToResponse(ExportJob job);
+}
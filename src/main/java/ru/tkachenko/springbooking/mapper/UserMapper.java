@@ -1,7 +1,6 @@
 package ru.tkachenko.springbooking.mapper;
 
-import org.mapstruct.Mapper;
-import org.mapstruct.ReportingPolicy;
+import org.mapstruct.*;
 import ru.tkachenko.springbooking.dto.UpsertUserRequest;
 import ru.tkachenko.springbooking.dto.UserResponse;
 import ru.tkachenko.springbooking.model.User;
@@ -15,4 +14,14 @@ public interface UserMapper {
     UpsertUserRequest entityToUpsertRequest(User user);
 
     UserResponse entityToResponse(User user);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mappings({
+            @Mapping(target = "id", ignore = true),
+            @Mapping(target = "roles", ignore = true),
+            @Mapping(target = "bookings", ignore = true),
+            @Mapping(target = "createAt", ignore = true),
+            @Mapping(target = "updatedAt", ignore = true)
+    })
+    void updateUser(User sourceUser, @MappingTarget User targetUser);
 }
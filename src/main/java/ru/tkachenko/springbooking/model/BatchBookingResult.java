@@ -0,0 +1,18 @@
+package ru.tkachenko.springbooking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResult {
+    private int index;
+    private Booking booking;
+    private String errorMessage;
+
+    public boolean isCreated() {
+        return booking != null;
+    }
+}
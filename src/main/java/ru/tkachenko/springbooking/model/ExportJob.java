@@ -0,0 +1,38 @@
+package ru.tkachenko.springbooking.model;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Getter
+public class ExportJob {
+    private final UUID id = UUID.randomUUID();
+    private final String pathToFolder;
+    private final Instant createAt = Instant.now();
+    private final Map<StatisticType, Long> exportedRows = new ConcurrentHashMap<>();
+    private volatile ExportStatus status = ExportStatus.RUNNING;
+    private volatile Instant finishAt;
+    private volatile String error;
+
+    public ExportJob(String pathToFolder) {
+        this.pathToFolder = pathToFolder;
+    }
+
+    public void addExportedRows(StatisticType type, long rows) {
+        exportedRows.merge(type, rows, Long::sum);
+    }
+
+    public void complete() {
+        finishAt = Instant.now();
+        status = ExportStatus.COMPLETED;
+    }
+
+    public void fail(Throwable cause) {
+        error = cause.getMessage();
+        finishAt = Instant.now();
+        status = ExportStatus.FAILED;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.tkachenko.springbooking.model;
+
+public enum ExportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
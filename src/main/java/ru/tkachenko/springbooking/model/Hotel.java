@@ -3,6 +3,8 @@ package ru.tkachenko.springbooking.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,9 +17,11 @@ import java.util.List;
 @Builder
 @FieldNameConstants
 @Entity(name = "hotels")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Hotel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotels_id_seq")
+    @SequenceGenerator(name = "hotels_id_seq", sequenceName = "hotels_id_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String title;
@@ -28,6 +32,8 @@ public class Hotel {
     private Double rating;
     @Column(name = "number_of_ratings")
     private Integer numberOfRatings;
+    @Column(name = "rating_sum")
+    private Double ratingSum;
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
@@ -0,0 +1,34 @@
+package ru.tkachenko.springbooking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "hotel_vote_offsets")
+@IdClass(HotelVoteOffset.Key.class)
+public class HotelVoteOffset {
+    @Id
+    private String topic;
+    @Id
+    @Column(name = "partition_id")
+    private Integer partition;
+    @Column(name = "next_offset")
+    private Long nextOffset;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private String topic;
+        private Integer partition;
+    }
+}
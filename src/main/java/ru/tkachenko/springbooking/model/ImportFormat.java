@@ -0,0 +1,6 @@
+package ru.tkachenko.springbooking.model;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
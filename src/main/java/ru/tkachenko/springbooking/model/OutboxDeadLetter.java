@@ -0,0 +1,31 @@
+package ru.tkachenko.springbooking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox row that could not be decoded, moved aside by the relay together with the reason.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "outbox_dead_letters")
+public class OutboxDeadLetter {
+    @Id
+    private Long id;
+    private String topic;
+    @Column(name = "event_type")
+    private String eventType;
+    private String payload;
+    private String error;
+    @Column(name = "create_at")
+    private Instant createAt;
+    @Column(name = "failed_at")
+    private Instant failedAt;
+}
@@ -0,0 +1,32 @@
+package ru.tkachenko.springbooking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldNameConstants;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldNameConstants
+@Entity(name = "room_availability")
+@IdClass(RoomAvailability.Key.class)
+public class RoomAvailability {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+    @Id
+    private Integer year;
+    private byte[] days;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long roomId;
+        private Integer year;
+    }
+}
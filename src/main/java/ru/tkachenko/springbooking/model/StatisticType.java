@@ -0,0 +1,30 @@
+package ru.tkachenko.springbooking.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.tkachenko.springbooking.dto.RoomBookedEvent;
+import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
+import ru.tkachenko.springbooking.exception.EntityNotFoundException;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum StatisticType {
+    ROOM_BOOKED("room-booked", "exportedRoomBookedEventData", RoomBookedEvent.class,
+            new String[]{"userId", "checkInDate", "checkOutDate"}),
+    USER_REGISTERED("user-registered", "exportedUserRegisteredEventData", UserRegisteredEvent.class,
+            new String[]{"userId"});
+
+    private final String slug;
+    private final String fileName;
+    private final Class<?> documentType;
+    private final String[] header;
+
+    public static StatisticType fromSlug(String slug) {
+        return Arrays.stream(values())
+                .filter(type -> type.slug.equals(slug))
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Статистика " + slug + " не найдена!"));
+    }
+}
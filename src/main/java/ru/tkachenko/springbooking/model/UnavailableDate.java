@@ -13,7 +13,8 @@ import java.time.LocalDate;
 @Entity(name = "unavailable_dates")
 public class UnavailableDate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "unavailable_dates_id_seq")
+    @SequenceGenerator(name = "unavailable_dates_id_seq", sequenceName = "unavailable_dates_id_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     @JoinColumn(name = "room_id")
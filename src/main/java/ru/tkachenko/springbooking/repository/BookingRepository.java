@@ -1,7 +1,23 @@
 package ru.tkachenko.springbooking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.tkachenko.springbooking.model.Booking;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    List<Booking> findAllByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Query("SELECT b FROM bookings b JOIN FETCH b.room r JOIN FETCH r.hotel JOIN FETCH b.user ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Booking> streamAll();
 }
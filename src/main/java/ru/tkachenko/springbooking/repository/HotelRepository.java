@@ -1,8 +1,41 @@
 package ru.tkachenko.springbooking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.tkachenko.springbooking.model.Hotel;
 
+import java.time.Instant;
+
 public interface HotelRepository extends JpaRepository<Hotel, Long>, JpaSpecificationExecutor<Hotel> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Hotel> findAll(Specification<Hotel> spec, Pageable pageable);
+
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('hotels' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    /**
+     * Applies {@code count} votes summing to {@code sum} in one statement. The query space is not the
+     * hotels table, so Hibernate does not drop the whole hotel cache region; callers evict the changed
+     * hotel through {@link ru.tkachenko.springbooking.cache.HotelEntityCache}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "hotel_votes"))
+    @Query(value = "UPDATE hotels SET " +
+            "rating_sum = COALESCE(rating_sum, 0) + :sum, " +
+            "number_of_ratings = COALESCE(number_of_ratings, 0) + :count, " +
+            "rating = ROUND(CAST((COALESCE(rating_sum, 0) + :sum) / (COALESCE(number_of_ratings, 0) + :count) AS numeric), 2), " +
+            "updated_at = :now " +
+            "WHERE id = :id", nativeQuery = true)
+    int addVotes(@Param("id") Long id, @Param("sum") double sum, @Param("count") int count, @Param("now") Instant now);
 }
@@ -0,0 +1,18 @@
+package ru.tkachenko.springbooking.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.tkachenko.springbooking.model.HotelVoteOffset;
+
+import java.util.List;
+
+public interface HotelVoteOffsetRepository extends JpaRepository<HotelVoteOffset, HotelVoteOffset.Key> {
+    List<HotelVoteOffset> findAllByTopic(String topic);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from hotel_vote_offsets o where o.topic = :topic")
+    List<HotelVoteOffset> findAllForUpdate(@Param("topic") String topic);
+}
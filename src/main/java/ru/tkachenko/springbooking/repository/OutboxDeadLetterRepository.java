@@ -0,0 +1,7 @@
+package ru.tkachenko.springbooking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.tkachenko.springbooking.model.OutboxDeadLetter;
+
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+}
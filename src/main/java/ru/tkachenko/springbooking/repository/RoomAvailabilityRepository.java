@@ -0,0 +1,47 @@
+package ru.tkachenko.springbooking.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.tkachenko.springbooking.model.RoomAvailability;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomAvailabilityRepository extends JpaRepository<RoomAvailability, RoomAvailability.Key> {
+    List<RoomAvailability> findAllByRoomIdAndYearBetween(Long roomId, Integer fromYear, Integer toYear);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from room_availability a where a.roomId = :roomId and a.year between :fromYear and :toYear")
+    List<RoomAvailability> findAllForUpdate(@Param("roomId") Long roomId,
+                                            @Param("fromYear") Integer fromYear,
+                                            @Param("toYear") Integer toYear);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from room_availability a where a.roomId in :roomIds and a.year between :fromYear and :toYear " +
+            "order by a.roomId, a.year")
+    List<RoomAvailability> findAllByRoomIdsForUpdate(@Param("roomIds") Collection<Long> roomIds,
+                                                     @Param("fromYear") Integer fromYear,
+                                                     @Param("toYear") Integer toYear);
+
+    /**
+     * Creates empty buckets that do not exist yet, so the following {@code FOR UPDATE} select always has
+     * rows to lock and concurrent first bookings of a year queue up instead of racing on the insert.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "room_availability"))
+    @Query(value = "INSERT INTO room_availability (room_id, year, days) " +
+            "SELECT r.id, y.year, decode('', 'hex') FROM rooms r " +
+            "CROSS JOIN generate_series(:fromYear, :toYear) AS y(year) " +
+            "WHERE r.id IN (:roomIds) ORDER BY r.id, y.year " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    void createMissing(@Param("roomIds") Collection<Long> roomIds,
+                       @Param("fromYear") Integer fromYear,
+                       @Param("toYear") Integer toYear);
+}
@@ -1,8 +1,25 @@
 package ru.tkachenko.springbooking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.tkachenko.springbooking.model.Room;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Room> findAll(Specification<Room> spec, Pageable pageable);
+
+    @Query("select r.id from rooms r where r.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,30 @@
+package ru.tkachenko.springbooking.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.tkachenko.springbooking.service.OutboxService;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayScheduler {
+    private final OutboxService outboxService;
+
+    @Value("${app.outbox.batchSize}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relayIntervalMs}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = outboxService.relay(batchSize);
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Ошибка при отправке событий из outbox", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.tkachenko.springbooking.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+    private final AuthenticationProvider delegate;
+    private final CredentialCache credentialCache;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getName() == null || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = credentialCache.key(authentication.getName(), authentication.getCredentials().toString());
+        Authentication cached = credentialCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null) {
+            credentialCache.put(key, result, System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.tkachenko.springbooking.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CredentialCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Authentication> cache;
+    private final SecretKeySpec keySpec;
+    private final Timer authenticationTimer;
+    private final Counter savedTimeCounter;
+
+    public CredentialCache(MeterRegistry meterRegistry,
+                           @Value("${app.security.credentialCache.maxSize}") long maxSize,
+                           @Value("${app.security.credentialCache.ttl}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.keySpec = new SecretKeySpec(secret, HMAC_ALGORITHM);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.credentials");
+        Gauge.builder("auth.credentials.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of authentications served without password verification")
+                .register(meterRegistry);
+        this.authenticationTimer = Timer.builder("auth.credentials.verification")
+                .description("Time spent on password verification for cache misses")
+                .register(meterRegistry);
+        this.savedTimeCounter = Counter.builder("auth.credentials.saved")
+                .description("Estimated verification time saved by cache hits")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось вычислить ключ кэша учётных данных", e);
+        }
+    }
+
+    public Authentication get(String key) {
+        Authentication authentication = cache.getIfPresent(key);
+        if (authentication != null) {
+            savedTimeCounter.increment(authenticationTimer.mean(TimeUnit.MILLISECONDS));
+        }
+        return authentication;
+    }
+
+    public void put(String key, Authentication authentication, long verificationNanos) {
+        authenticationTimer.record(verificationNanos, TimeUnit.NANOSECONDS);
+        cache.put(key, authentication);
+    }
+
+    public void evictUser(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        cache.asMap().values().removeIf(authentication ->
+                authentication.getPrincipal() instanceof AppUserPrincipal principal
+                        && userId.equals(principal.getUser().getId()));
+    }
+}
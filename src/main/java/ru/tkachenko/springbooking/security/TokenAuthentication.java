@@ -0,0 +1,13 @@
+package ru.tkachenko.springbooking.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+/**
+ * Authentication set by {@link TokenAuthenticationFilter}. It is kept apart from the HTTP Basic one so
+ * that a token cannot be exchanged for a new token.
+ */
+public class TokenAuthentication extends UsernamePasswordAuthenticationToken {
+    public TokenAuthentication(AppUserPrincipal principal) {
+        super(principal, null, principal.getAuthorities());
+    }
+}
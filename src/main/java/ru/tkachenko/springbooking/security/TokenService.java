@@ -0,0 +1,112 @@
+package ru.tkachenko.springbooking.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.tkachenko.springbooking.model.RoleType;
+import ru.tkachenko.springbooking.model.User;
+import ru.tkachenko.springbooking.model.UserRole;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(prefix = "app.security.token", name = "enabled", havingValue = "true")
+public class TokenService {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec keySpec;
+    private final Duration ttl;
+
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${app.security.token.secret}") String secret,
+                        @Value("${app.security.token.ttl}") Duration ttl) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("Секрет для подписи токенов должен быть не короче "
+                    + MIN_SECRET_LENGTH + " байт!");
+        }
+        this.objectMapper = objectMapper;
+        this.keySpec = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        this.ttl = ttl;
+    }
+
+    public IssuedToken issue(AppUserPrincipal principal) {
+        User user = principal.getUser();
+        Instant expiresAt = Instant.now().plus(ttl);
+        TokenClaims claims = new TokenClaims(
+                user.getId(),
+                user.getName(),
+                user.getRoles().stream().map(UserRole::getAuthority).toList(),
+                expiresAt.getEpochSecond()
+        );
+
+        try {
+            String payload = encode(objectMapper.writeValueAsBytes(claims));
+            return new IssuedToken(payload + "." + encode(sign(payload)), expiresAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сформировать токен", e);
+        }
+    }
+
+    public AppUserPrincipal verify(String token) {
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+
+        String payload = token.substring(0, separator);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+
+            TokenClaims claims = objectMapper.readValue(Base64.getUrlDecoder().decode(payload), TokenClaims.class);
+            if (Instant.now().getEpochSecond() >= claims.exp()) {
+                return null;
+            }
+
+            User user = User.builder()
+                    .id(claims.uid())
+                    .name(claims.sub())
+                    .build();
+            user.setRoles(claims.roles().stream().map(role -> UserRole.from(role, user)).toList());
+            return new AppUserPrincipal(user);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySpec);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось подписать токен", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private record TokenClaims(Long uid, String sub, List<RoleType> roles, long exp) {
+    }
+}
@@ -1,12 +1,19 @@
 package ru.tkachenko.springbooking.service;
 
+import ru.tkachenko.springbooking.model.BatchBookingResult;
 import ru.tkachenko.springbooking.model.Booking;
 import ru.tkachenko.springbooking.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
-    List<Booking> findAll();
+    List<Booking> findAll(Long afterId, int pageSize);
+
+    void streamAll(Consumer<Booking> action);
+
     Booking save(User user, Booking booking);
 
+    List<BatchBookingResult> saveAll(User user, List<Booking> bookings, boolean atomic);
+
 }
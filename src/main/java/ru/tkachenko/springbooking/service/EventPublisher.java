@@ -0,0 +1,13 @@
+package ru.tkachenko.springbooking.service;
+
+import ru.tkachenko.springbooking.dto.Event;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface EventPublisher {
+    default CompletableFuture<Void> publish(String topic, Event event) {
+        return publish(topic, null, event);
+    }
+
+    CompletableFuture<Void> publish(String topic, String key, Event event);
+}
@@ -0,0 +1,10 @@
+package ru.tkachenko.springbooking.service;
+
+import ru.tkachenko.springbooking.dto.ImportReport;
+import ru.tkachenko.springbooking.model.ImportFormat;
+
+import java.io.InputStream;
+
+public interface HotelImportService {
+    ImportReport importHotels(InputStream in, ImportFormat format);
+}
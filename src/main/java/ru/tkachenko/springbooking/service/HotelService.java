@@ -9,8 +9,12 @@ import java.util.List;
 public interface HotelService {
     List<Hotel> findAll(Pageable pageable, HotelFilter filter);
 
+    List<Hotel> findAllAfter(Long afterId, int pageSize, HotelFilter filter);
+
     Hotel findById(Long id);
 
+    Hotel getReference(Long id);
+
     Hotel save(Hotel hotel);
 
     Hotel update(Hotel hotel);
@@ -19,5 +23,5 @@ public interface HotelService {
 
     Hotel updateRating(Long id, int newMark);
 
-    Long count();
+    Long count(HotelFilter filter);
 }
@@ -0,0 +1,15 @@
+package ru.tkachenko.springbooking.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import ru.tkachenko.springbooking.dto.HotelVoteEvent;
+
+import java.util.List;
+import java.util.Map;
+
+public interface HotelVoteService {
+    void submit(Long hotelId, int newMark);
+
+    int apply(List<ConsumerRecord<String, HotelVoteEvent>> records);
+
+    Map<Integer, Long> findOffsets();
+}
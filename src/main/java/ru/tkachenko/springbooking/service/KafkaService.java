@@ -1,7 +1,14 @@
 package ru.tkachenko.springbooking.service;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import ru.tkachenko.springbooking.dto.Event;
 
+import java.util.List;
+
 public interface KafkaService<T extends Event> {
-    void add(T event);
+    /**
+     * Stores a batch of consumed records. Records keyed by an outbox id are stored under an id derived
+     * from it, so a redelivered or replayed record does not create a second document.
+     */
+    void addAll(List<? extends ConsumerRecord<String, ? extends T>> records);
 }
@@ -0,0 +1,9 @@
+package ru.tkachenko.springbooking.service;
+
+import ru.tkachenko.springbooking.dto.Event;
+
+public interface OutboxService {
+    void add(String topic, Event event);
+
+    int relay(int batchSize);
+}
@@ -0,0 +1,20 @@
+package ru.tkachenko.springbooking.service;
+
+import ru.tkachenko.springbooking.model.Booking;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+public interface RoomAvailabilityService {
+    boolean isAvailable(Long roomId, LocalDate from, LocalDate to);
+
+    /**
+     * Locks the room's buckets and marks the stay as taken.
+     *
+     * @return {@code false}, with nothing changed, when a day of the stay is already taken
+     */
+    boolean reserve(Long roomId, LocalDate from, LocalDate to);
+
+    BitSet reserveAll(List<Booking> bookings);
+}
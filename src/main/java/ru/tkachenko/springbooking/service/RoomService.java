@@ -3,13 +3,19 @@ package ru.tkachenko.springbooking.service;
 import ru.tkachenko.springbooking.dto.RoomFilter;
 import ru.tkachenko.springbooking.model.Room;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface RoomService {
     List<Room> findAll(RoomFilter filter);
 
     Room findById(Long id);
 
+    Room getReference(Long id);
+
+    Map<Long, Room> getReferences(Collection<Long> ids);
+
     Room save(Room room);
 
     Room update(Room room);
@@ -1,5 +1,18 @@
 package ru.tkachenko.springbooking.service;
 
+import ru.tkachenko.springbooking.model.ExportJob;
+import ru.tkachenko.springbooking.model.StatisticType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
 public interface StatisticService {
     void exportDataToCsv(String pathToFolder);
+
+    ExportJob startExport(String pathToFolder);
+
+    ExportJob findExportJob(UUID jobId);
+
+    long writeCsv(StatisticType type, OutputStream out) throws IOException;
 }
@@ -3,12 +3,15 @@ package ru.tkachenko.springbooking.service;
 import ru.tkachenko.springbooking.model.User;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     User findByName(String name);
 
     List<User> findAll();
 
+    void streamAll(Consumer<User> action);
+
     User findById(Long id);
 
     User save(User user, String role);
@@ -0,0 +1,307 @@
+package ru.tkachenko.springbooking.service.impl;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.tkachenko.springbooking.cache.HotelCountCache;
+import ru.tkachenko.springbooking.dto.HotelImportRecord;
+import ru.tkachenko.springbooking.dto.ImportError;
+import ru.tkachenko.springbooking.dto.ImportReport;
+import ru.tkachenko.springbooking.dto.RoomImportRecord;
+import ru.tkachenko.springbooking.exception.ImportException;
+import ru.tkachenko.springbooking.model.ImportFormat;
+import ru.tkachenko.springbooking.service.HotelImportService;
+import ru.tkachenko.springbooking.utils.PgCopy;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Loads hotels with their rooms through {@code COPY ... FROM STDIN}. Records are validated while the
+ * request body is read and written in chunks, so memory use depends on the chunk size only.
+ */
+@Service
+@Slf4j
+public class CopyHotelImportService implements HotelImportService {
+    private static final String COPY_HOTELS = "COPY hotels (id, name, title, city, address, " +
+            "distance_from_city_center, create_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_ROOMS = "COPY rooms (id, name, description, number, price, capacity, " +
+            "hotel_id, create_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String HOTELS_SEQUENCE = "hotels_id_seq";
+    private static final String ROOMS_SEQUENCE = "rooms_id_seq";
+    private static final List<String> CSV_COLUMNS = List.of("name", "title", "city", "address",
+            "distanceFromCityCenter", "roomName", "roomDescription", "roomNumber", "roomPrice", "roomCapacity");
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManagerFactory entityManagerFactory;
+    private final HotelCountCache hotelCountCache;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public CopyHotelImportService(DataSource dataSource,
+                                  ObjectMapper objectMapper,
+                                  Validator validator,
+                                  EntityManagerFactory entityManagerFactory,
+                                  HotelCountCache hotelCountCache,
+                                  @Value("${app.hotel.import.chunkSize}") int chunkSize,
+                                  @Value("${app.hotel.import.maxReportedErrors}") int maxReportedErrors) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManagerFactory = entityManagerFactory;
+        this.hotelCountCache = hotelCountCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    @Transactional
+    public ImportReport importHotels(InputStream in, ImportFormat format) {
+        try {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            ImportBatch batch = new ImportBatch(connection);
+            switch (format) {
+                case NDJSON -> readNdjson(in, batch);
+                case CSV -> readCsv(in, batch);
+            }
+            batch.flush();
+
+            hotelCountCache.invalidateAll();
+            evictQueryCacheAfterCommit();
+
+            log.info("Импорт отелей завершён: {} отелей, {} комнат, отклонено {} записей",
+                    batch.report.getHotelsImported(), batch.report.getRoomsImported(), batch.report.getRejected());
+            return batch.report;
+        } catch (SQLException | IOException e) {
+            throw new ImportException("Не удалось загрузить отели: " + e.getMessage(), e);
+        }
+    }
+
+    private void readNdjson(InputStream in, ImportBatch batch) throws IOException, SQLException {
+        try (MappingIterator<HotelImportRecord> records = objectMapper.readerFor(HotelImportRecord.class).readValues(in)) {
+            long line = 0;
+            while (nextRecord(records, line + 1)) {
+                line++;
+                try {
+                    batch.add(line, records.nextValue());
+                } catch (JsonMappingException e) {
+                    batch.reject(line, "Некорректная запись: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private boolean nextRecord(MappingIterator<HotelImportRecord> records, long line) {
+        try {
+            return records.hasNextValue();
+        } catch (IOException e) {
+            throw new ImportException(MessageFormat.format("Некорректный NDJSON в строке {0}: {1}", line, e.getMessage()), e);
+        }
+    }
+
+    private void readCsv(InputStream in, ImportBatch batch) throws IOException, SQLException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readCsvHeader(reader.readNext());
+
+            HotelImportRecord hotel = null;
+            String hotelKey = null;
+            String hotelError = null;
+            long hotelLine = 0;
+
+            long line = 1;
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                line++;
+                String key = String.join("\u0000", column(row, columns, "name"),
+                        column(row, columns, "city"), column(row, columns, "address"));
+                if (!key.equals(hotelKey)) {
+                    if (hotel != null) {
+                        batch.addOrReject(hotelLine, hotel, hotelError);
+                    }
+                    hotel = new HotelImportRecord();
+                    hotelKey = key;
+                    hotelError = null;
+                    hotelLine = line;
+                    try {
+                        hotel.setName(column(row, columns, "name"));
+                        hotel.setTitle(column(row, columns, "title"));
+                        hotel.setCity(column(row, columns, "city"));
+                        hotel.setAddress(column(row, columns, "address"));
+                        hotel.setDistanceFromCityCenter(parseDouble(column(row, columns, "distanceFromCityCenter")));
+                    } catch (NumberFormatException e) {
+                        hotelError = MessageFormat.format("Некорректное число в строке {0}: {1}", line, e.getMessage());
+                    }
+                }
+
+                if (!column(row, columns, "roomName").isEmpty() && hotelError == null) {
+                    try {
+                        hotel.getRooms().add(new RoomImportRecord(
+                                column(row, columns, "roomName"),
+                                column(row, columns, "roomDescription"),
+                                Integer.valueOf(column(row, columns, "roomNumber")),
+                                parseDouble(column(row, columns, "roomPrice")),
+                                Byte.parseByte(column(row, columns, "roomCapacity"))
+                        ));
+                    } catch (NumberFormatException e) {
+                        hotelError = MessageFormat.format("Некорректное число в строке {0}: {1}", line, e.getMessage());
+                    }
+                }
+            }
+            if (hotel != null) {
+                batch.addOrReject(hotelLine, hotel, hotelError);
+            }
+        } catch (CsvValidationException e) {
+            throw new ImportException("Некорректный CSV: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Integer> readCsvHeader(String[] header) {
+        if (header == null) {
+            throw new ImportException("Пустой CSV: нет строки заголовка!");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim(), i);
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new ImportException("В CSV нет колонок: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private String column(String[] row, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < row.length ? row[index].trim() : "";
+    }
+
+    private double parseDouble(String value) {
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+
+    private void evictQueryCacheAfterCommit() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictQueryRegions();
+                }
+            });
+        } else {
+            cache.evictQueryRegions();
+        }
+    }
+
+    private class ImportBatch {
+        private final Connection connection;
+        private final List<HotelImportRecord> chunk = new ArrayList<>(chunkSize);
+        private final ImportReport report = new ImportReport();
+
+        ImportBatch(Connection connection) {
+            this.connection = connection;
+        }
+
+        void addOrReject(long line, HotelImportRecord hotel, String error) throws SQLException, IOException {
+            if (error != null) {
+                reject(line, error);
+            } else {
+                add(line, hotel);
+            }
+        }
+
+        void add(long line, HotelImportRecord hotel) throws SQLException, IOException {
+            if (hotel.getRooms() == null) {
+                hotel.setRooms(new ArrayList<>());
+            }
+            Set<ConstraintViolation<HotelImportRecord>> violations = validator.validate(hotel);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            chunk.add(hotel);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            report.setRejected(report.getRejected() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ImportError(line, message));
+            }
+        }
+
+        void flush() throws SQLException, IOException {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            int roomCount = chunk.stream().mapToInt(hotel -> hotel.getRooms().size()).sum();
+            long[] hotelIds = PgCopy.allocateIds(connection, HOTELS_SEQUENCE, chunk.size());
+            long[] roomIds = PgCopy.allocateIds(connection, ROOMS_SEQUENCE, roomCount);
+            String now = PgCopy.timestamp();
+
+            try (CSVWriter writer = PgCopy.writer(connection, COPY_HOTELS)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    HotelImportRecord hotel = chunk.get(i);
+                    writer.writeNext(new String[]{
+                            String.valueOf(hotelIds[i]), hotel.getName(), hotel.getTitle(), hotel.getCity(),
+                            hotel.getAddress(), String.valueOf(hotel.getDistanceFromCityCenter()), now, now
+                    }, false);
+                }
+            }
+
+            try (CSVWriter writer = PgCopy.writer(connection, COPY_ROOMS)) {
+                int roomIndex = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    for (RoomImportRecord room : chunk.get(i).getRooms()) {
+                        writer.writeNext(new String[]{
+                                String.valueOf(roomIds[roomIndex++]), room.getName(), room.getDescription(),
+                                String.valueOf(room.getNumber()), String.valueOf(room.getPrice()),
+                                String.valueOf(room.getCapacity()), String.valueOf(hotelIds[i]), now, now
+                        }, false);
+                    }
+                }
+            }
+
+            report.setHotelsImported(report.getHotelsImported() + chunk.size());
+            report.setRoomsImported(report.getRoomsImported() + roomCount);
+            chunk.clear();
+            log.info("Импорт отелей: загружено {} отелей и {} комнат",
+                    report.getHotelsImported(), report.getRoomsImported());
+        }
+    }
+}
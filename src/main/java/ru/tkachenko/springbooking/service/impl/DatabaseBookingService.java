@@ -1,31 +1,74 @@
 package ru.tkachenko.springbooking.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.dto.RoomBookedEvent;
+import ru.tkachenko.springbooking.exception.BookingConflictException;
 import ru.tkachenko.springbooking.exception.DateException;
+import ru.tkachenko.springbooking.exception.EntityNotFoundException;
+import ru.tkachenko.springbooking.model.BatchBookingResult;
 import ru.tkachenko.springbooking.model.Booking;
 import ru.tkachenko.springbooking.model.Room;
-import ru.tkachenko.springbooking.model.UnavailableDate;
 import ru.tkachenko.springbooking.model.User;
 import ru.tkachenko.springbooking.repository.BookingRepository;
-import ru.tkachenko.springbooking.repository.UnavailableDateRepository;
 import ru.tkachenko.springbooking.service.BookingService;
+import ru.tkachenko.springbooking.service.OutboxService;
+import ru.tkachenko.springbooking.service.RoomAvailabilityService;
+import ru.tkachenko.springbooking.service.RoomService;
+import ru.tkachenko.springbooking.utils.ConstraintViolations;
 
-import java.time.LocalDate;
+import java.sql.SQLException;
+import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DatabaseBookingService implements BookingService {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String ROOM_FOREIGN_KEY = "fk_bookings_room";
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+
     private final BookingRepository repository;
-    private final UnavailableDateRepository unavailableDateRepository;
+    private final EntityManager entityManager;
+    private final RoomAvailabilityService roomAvailabilityService;
+    private final OutboxService outboxService;
+    private final RoomService roomService;
+
+    @Value("${app.kafka.kafkaRoomBookedEventTopic}")
+    private String topicName;
 
     @Override
-    public List<Booking> findAll() {
-        return repository.findAll();
+    public List<Booking> findAll(Long afterId, int pageSize) {
+        return repository.findAllByIdGreaterThanOrderById(afterId == null ? 0L : afterId, Limit.of(pageSize));
+    }
+
+    @Override
+    public void streamAll(Consumer<Booking> action) {
+        // Detaching a booking would leave its fetched room, hotel and user managed, so the whole
+        // persistence context is dropped once per fetch batch instead.
+        try (Stream<Booking> bookings = repository.streamAll()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            long streamed = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++streamed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     @Override
@@ -36,39 +79,125 @@ public class DatabaseBookingService implements BookingService {
             throw new DateException("Дата заезда не может быть позже даты выезда!");
         }
 
+        Long roomId = booking.getRoom().getId();
+        Room room = roomService.getReferences(List.of(roomId)).get(roomId);
+        if (room == null) {
+            throw new EntityNotFoundException(MessageFormat.format(
+                    "Комната с ID {0} не найдена!", roomId
+            ));
+        }
+        booking.setRoom(room);
         booking.setUser(user);
 
-        Room room = booking.getRoom();
+        // The availability bucket is locked before the booking row is inserted, in the same order as saveAll,
+        // so a single booking and a batch for the same room queue on the bucket instead of deadlocking.
+        if (!roomAvailabilityService.reserve(roomId, booking.getArrivalDate(), booking.getDepartureDate())) {
+            throw new DateException("Комната на Ваши даты забронирована!");
+        }
+
+        Booking savedBooking;
+        try {
+            savedBooking = repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isStayOverlap(e)) {
+                throw new DateException("Комната на Ваши даты забронирована!");
+            }
+            if (ConstraintViolations.isViolated(e, ROOM_FOREIGN_KEY)) {
+                throw new EntityNotFoundException(MessageFormat.format(
+                        "Комната с ID {0} не найдена!", roomId
+                ));
+            }
+            throw e;
+        }
 
-        List<LocalDate> existingUnavailableDates = room.getUnavailableDates()
-                .stream().map(UnavailableDate::getDate).toList();
+        outboxService.add(topicName, new RoomBookedEvent(user.getId(),
+                savedBooking.getArrivalDate().toString(), savedBooking.getDepartureDate().toString()));
 
-        boolean datesUnavailable = existingUnavailableDates.stream().anyMatch(
-                date -> !date.isBefore(booking.getArrivalDate()) && !date.isAfter(booking.getDepartureDate())
-        );
+        return savedBooking;
+    }
 
-        if (datesUnavailable) {
-            throw new DateException("Комната на Ваши даты забронирована!");
+    @Override
+    @Transactional
+    public List<BatchBookingResult> saveAll(User user, List<Booking> bookings, boolean atomic) {
+        Map<Long, Room> rooms = roomService.getReferences(bookings.stream()
+                .map(booking -> booking.getRoom().getId())
+                .collect(Collectors.toSet()));
+
+        RuntimeException[] errors = new RuntimeException[bookings.size()];
+        List<Booking> candidates = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            Long roomId = booking.getRoom().getId();
+            if (booking.getArrivalDate().isAfter(booking.getDepartureDate())) {
+                errors[i] = new DateException("Дата заезда не может быть позже даты выезда!");
+            } else if (!rooms.containsKey(roomId)) {
+                errors[i] = new EntityNotFoundException(MessageFormat.format(
+                        "Комната с ID {0} не найдена!", roomId
+                ));
+            } else {
+                booking.setRoom(rooms.get(roomId));
+                booking.setUser(user);
+                candidates.add(booking);
+                candidateIndexes.add(i);
+            }
+        }
+        throwFirstIfAtomic(errors, atomic);
+
+        BitSet rejected = roomAvailabilityService.reserveAll(candidates);
+        rejected.stream().forEach(candidate -> errors[candidateIndexes.get(candidate)] =
+                new DateException("Комната на Ваши даты забронирована!"));
+        throwFirstIfAtomic(errors, atomic);
+
+        List<Booking> accepted = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (errors[i] == null) {
+                accepted.add(bookings.get(i));
+            }
         }
 
-        List<UnavailableDate> unavailableDate =
-                createUnavailableDates(booking.getArrivalDate(), booking.getDepartureDate(), room);
+        // Every booking path reserves the stay under the bucket lock before inserting, so the exclusion
+        // constraint should not fire here. If it does, the failed flush has already broken the transaction,
+        // and no item can be reported as created: the whole request is a conflict, whatever atomic is.
+        try {
+            repository.saveAllAndFlush(accepted);
+        } catch (DataIntegrityViolationException e) {
+            if (isStayOverlap(e)) {
+                throw new BookingConflictException("Бронирования не созданы: даты одной из комнат уже заняты, повторите запрос!", e);
+            }
+            throw e;
+        }
+
+        accepted.forEach(booking -> outboxService.add(topicName, new RoomBookedEvent(user.getId(),
+                booking.getArrivalDate().toString(), booking.getDepartureDate().toString())));
 
-        unavailableDateRepository.saveAll(unavailableDate);
+        List<BatchBookingResult> results = new ArrayList<>(bookings.size());
+        for (int i = 0; i < bookings.size(); i++) {
+            results.add(errors[i] == null
+                    ? new BatchBookingResult(i, bookings.get(i), null)
+                    : new BatchBookingResult(i, null, errors[i].getMessage()));
+        }
+        return results;
+    }
 
-        return repository.save(booking);
+    private void throwFirstIfAtomic(RuntimeException[] errors, boolean atomic) {
+        if (!atomic) {
+            return;
+        }
+        for (RuntimeException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
     }
 
-    private List<UnavailableDate> createUnavailableDates(LocalDate from, LocalDate to, Room room) {
-        List<UnavailableDate> result = new ArrayList<>();
-        LocalDate currentDate = from;
-        while (!currentDate.isAfter(to)) {
-            UnavailableDate unavailableDate = new UnavailableDate();
-            unavailableDate.setRoom(room);
-            unavailableDate.setDate(currentDate);
-            result.add(unavailableDate);
-            currentDate = currentDate.plusDays(1);
+    private boolean isStayOverlap(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
         }
-        return result;
+        return false;
     }
 }
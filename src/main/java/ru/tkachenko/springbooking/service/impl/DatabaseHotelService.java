@@ -1,10 +1,15 @@
 package ru.tkachenko.springbooking.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.cache.HotelCountCache;
+import ru.tkachenko.springbooking.cache.HotelEntityCache;
 import ru.tkachenko.springbooking.controller.specification.HotelSpecification;
+import ru.tkachenko.springbooking.controller.specification.KeysetSpecification;
 import ru.tkachenko.springbooking.dto.HotelFilter;
 import ru.tkachenko.springbooking.exception.EntityNotFoundException;
 import ru.tkachenko.springbooking.exception.HotelException;
@@ -14,6 +19,7 @@ import ru.tkachenko.springbooking.repository.HotelRepository;
 import ru.tkachenko.springbooking.service.HotelService;
 
 import java.text.MessageFormat;
+import java.time.Instant;
 import java.util.List;
 
 @Service
@@ -22,12 +28,23 @@ import java.util.List;
 public class DatabaseHotelService implements HotelService {
     private final HotelRepository repository;
     private final HotelMapper hotelMapper;
+    private final HotelCountCache hotelCountCache;
+    private final HotelEntityCache hotelEntityCache;
+
+    @Value("${app.hotel.count.estimated}")
+    private boolean estimatedCount;
 
     @Override
     public List<Hotel> findAll(Pageable pageable, HotelFilter filter) {
         return repository.findAll(HotelSpecification.withFilter(filter), pageable).getContent();
     }
 
+    @Override
+    public List<Hotel> findAllAfter(Long afterId, int pageSize, HotelFilter filter) {
+        return repository.findBy(HotelSpecification.withFilter(filter).and(KeysetSpecification.idAfter(afterId)),
+                query -> query.sortBy(Sort.by(Hotel.Fields.id)).limit(pageSize).all());
+    }
+
     @Override
     public Hotel findById(Long id) {
         return repository.findById(id)
@@ -36,9 +53,15 @@ public class DatabaseHotelService implements HotelService {
                 )));
     }
 
+    @Override
+    public Hotel getReference(Long id) {
+        return repository.getReferenceById(id);
+    }
+
     @Override
     @Transactional
     public Hotel save(Hotel hotel) {
+        hotelCountCache.invalidateAll();
         return repository.save(hotel);
     }
 
@@ -47,12 +70,14 @@ public class DatabaseHotelService implements HotelService {
     public Hotel update(Hotel hotel) {
         Hotel existedHotel = findById(hotel.getId());
         hotelMapper.updateHotel(hotel, existedHotel);
+        hotelCountCache.invalidateAll();
         return repository.save(existedHotel);
     }
 
     @Override
     @Transactional
     public void deleteById(Long id) {
+        hotelCountCache.invalidateAll();
         repository.deleteById(id);
     }
 
@@ -64,27 +89,33 @@ public class DatabaseHotelService implements HotelService {
             throw new HotelException("Недопустимая оценка. Оценка должна быть между 1 и 5.");
         }
 
-        Hotel existedHotel = findById(id);
-
-        double rating = existedHotel.getRating();
-        int numberOfRating = existedHotel.getNumberOfRatings();
-
-        double totalRating = rating * numberOfRating;
-
-        totalRating = totalRating - rating + newMark;
-
-        rating = Math.round((totalRating / numberOfRating) * 100.0) / 100.0;
+        if (repository.addVotes(id, newMark, 1, Instant.now()) == 0) {
+            throw new EntityNotFoundException(MessageFormat.format(
+                    "Отель с ID {0} не найден!", id
+            ));
+        }
 
-        numberOfRating = numberOfRating + 1;
+        hotelEntityCache.evict(List.of(id));
+        hotelCountCache.invalidateRatingFilters();
+        return findById(id);
+    }
 
-        existedHotel.setRating(rating);
-        existedHotel.setNumberOfRatings(numberOfRating);
+    @Override
+    public Long count(HotelFilter filter) {
+        return hotelCountCache.get(filter, this::countHotels);
+    }
 
-        return repository.save(existedHotel);
+    private Long countHotels(HotelFilter filter) {
+        if (estimatedCount && isEmpty(filter)) {
+            long estimate = repository.estimateCount();
+            if (estimate >= 0) {
+                return estimate;
+            }
+        }
+        return repository.count(HotelSpecification.withFilter(filter));
     }
 
-    @Override
-    public Long count() {
-        return repository.count();
+    private boolean isEmpty(HotelFilter filter) {
+        return filter.equals(new HotelFilter());
     }
 }
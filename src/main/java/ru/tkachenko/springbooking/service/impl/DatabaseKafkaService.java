@@ -1,27 +1,75 @@
 package ru.tkachenko.springbooking.service.impl;
 
+import com.mongodb.ErrorCategory;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import ru.tkachenko.springbooking.dto.Event;
-import ru.tkachenko.springbooking.dto.RoomBookedEvent;
-import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
-import ru.tkachenko.springbooking.repository.RoomBookedEventRepository;
-import ru.tkachenko.springbooking.repository.UserRegisteredEventRepository;
 import ru.tkachenko.springbooking.service.KafkaService;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class DatabaseKafkaService<T extends Event> implements KafkaService<T> {
-    private final RoomBookedEventRepository roomBookedEventRepository;
-    private final UserRegisteredEventRepository userRegisteredEventRepository;
-
+    private final MongoTemplate mongoTemplate;
 
     @Override
-    public void add(T event) {
-        if (event instanceof RoomBookedEvent) {
-            roomBookedEventRepository.save((RoomBookedEvent) event);
-        } else if (event instanceof UserRegisteredEvent) {
-            userRegisteredEventRepository.save((UserRegisteredEvent) event);
+    public void addAll(List<? extends ConsumerRecord<String, ? extends T>> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<Class<?>, List<ConsumerRecord<String, ? extends T>>> recordsByType = records.stream()
+                .filter(record -> record.value() != null)
+                .collect(Collectors.groupingBy(record -> record.value().getClass()));
+        recordsByType.forEach(this::insertIgnoringDuplicates);
+    }
+
+    private void insertIgnoringDuplicates(Class<?> type, List<ConsumerRecord<String, ? extends T>> batch) {
+        List<Document> documents = batch.stream().map(this::toDocument).toList();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            log.debug("Пропущено {} повторно доставленных событий {}", e.getErrors().size(), type.getSimpleName());
+        }
+    }
+
+    private Document toDocument(ConsumerRecord<String, ? extends T> record) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(record.value(), document);
+        document.put("_id", documentId(record.key()));
+        return document;
+    }
+
+    /**
+     * Outbox records are keyed by the outbox id; it is packed into an {@link ObjectId} so that every
+     * document id keeps the same BSON type the statistics export partitions on.
+     */
+    private static ObjectId documentId(String key) {
+        if (key == null) {
+            return new ObjectId();
+        }
+        try {
+            return new ObjectId(ByteBuffer.allocate(12).putInt(0).putLong(Long.parseLong(key)).array());
+        } catch (NumberFormatException e) {
+            return new ObjectId();
         }
     }
 }
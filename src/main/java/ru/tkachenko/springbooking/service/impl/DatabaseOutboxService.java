@@ -0,0 +1,162 @@
+package ru.tkachenko.springbooking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.dto.Event;
+import ru.tkachenko.springbooking.dto.RoomBookedEvent;
+import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
+import ru.tkachenko.springbooking.exception.EventPublishException;
+import ru.tkachenko.springbooking.model.OutboxDeadLetter;
+import ru.tkachenko.springbooking.model.OutboxEvent;
+import ru.tkachenko.springbooking.repository.OutboxDeadLetterRepository;
+import ru.tkachenko.springbooking.repository.OutboxEventRepository;
+import ru.tkachenko.springbooking.service.EventPublisher;
+import ru.tkachenko.springbooking.service.OutboxService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class DatabaseOutboxService implements OutboxService {
+    /**
+     * Event types the relay decodes; {@code event_type} is resolved against this list, never loaded by name.
+     */
+    private static final Map<String, Class<? extends Event>> EVENT_TYPES = Stream.of(
+                    RoomBookedEvent.class, UserRegisteredEvent.class)
+            .collect(Collectors.toMap(Class::getName, Function.identity()));
+
+    private final OutboxEventRepository repository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final EventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Duration sendTimeout;
+    private final Counter relayedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer relayTimer;
+
+    public DatabaseOutboxService(OutboxEventRepository repository,
+                                 OutboxDeadLetterRepository deadLetterRepository,
+                                 EventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.outbox.sendTimeout}") Duration sendTimeout) {
+        this.repository = repository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.sendTimeout = sendTimeout;
+        this.relayedCounter = meterRegistry.counter("outbox.relay.events");
+        this.deadLetteredCounter = meterRegistry.counter("outbox.relay.deadLetters");
+        this.relayTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to publish and delete one outbox batch")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(String topic, Event event) {
+        if (!EVENT_TYPES.containsKey(event.getClass().getName())) {
+            throw new EventPublishException("Неизвестный тип события: " + event.getClass().getName());
+        }
+        try {
+            repository.save(OutboxEvent.builder()
+                    .topic(topic)
+                    .eventType(event.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new EventPublishException("Не удалось сохранить событие " + event, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int relay(int batchSize) {
+        List<OutboxEvent> batch = repository.findBatchForRelay(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<DecodedEvent> events = new ArrayList<>(batch.size());
+        List<OutboxDeadLetter> deadLetters = new ArrayList<>();
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                events.add(new DecodedEvent(outboxEvent, readEvent(outboxEvent)));
+            } catch (EventPublishException e) {
+                log.error("Событие outbox с ID {} не удалось прочитать, оно перенесено в outbox_dead_letters",
+                        outboxEvent.getId(), e);
+                deadLetters.add(toDeadLetter(outboxEvent, e));
+            }
+        }
+        deadLetterRepository.saveAll(deadLetters);
+
+        // The outbox id is the record key: a batch sent again after a failed delete is stored once by the consumer.
+        CompletableFuture<?>[] sent = events.stream()
+                .map(event -> eventPublisher.publish(
+                        event.outboxEvent().getTopic(), String.valueOf(event.outboxEvent().getId()), event.event()))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(sent).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishException("Отправка событий из outbox прервана!", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new EventPublishException("Не удалось отправить события из outbox!", e);
+        }
+
+        repository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+
+        relayTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        relayedCounter.increment(events.size());
+        deadLetteredCounter.increment(deadLetters.size());
+        return batch.size();
+    }
+
+    private Event readEvent(OutboxEvent outboxEvent) {
+        Class<? extends Event> type = EVENT_TYPES.get(outboxEvent.getEventType());
+        if (type == null) {
+            throw new EventPublishException("Неизвестный тип события: " + outboxEvent.getEventType());
+        }
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new EventPublishException("Не удалось прочитать событие с ID " + outboxEvent.getId(), e);
+        }
+    }
+
+    private OutboxDeadLetter toDeadLetter(OutboxEvent outboxEvent, EventPublishException e) {
+        return OutboxDeadLetter.builder()
+                .id(outboxEvent.getId())
+                .topic(outboxEvent.getTopic())
+                .eventType(outboxEvent.getEventType())
+                .payload(outboxEvent.getPayload())
+                .error(e.getCause() == null ? e.getMessage() : e.getMessage() + ": " + e.getCause().getMessage())
+                .createAt(outboxEvent.getCreateAt())
+                .failedAt(Instant.now())
+                .build();
+    }
+
+    private record DecodedEvent(OutboxEvent outboxEvent, Event event) {
+    }
+}
@@ -0,0 +1,122 @@
+package ru.tkachenko.springbooking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.model.Booking;
+import ru.tkachenko.springbooking.model.RoomAvailability;
+import ru.tkachenko.springbooking.repository.RoomAvailabilityRepository;
+import ru.tkachenko.springbooking.service.RoomAvailabilityService;
+import ru.tkachenko.springbooking.utils.DayBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DatabaseRoomAvailabilityService implements RoomAvailabilityService {
+    private final RoomAvailabilityRepository repository;
+
+    @Override
+    public boolean isAvailable(Long roomId, LocalDate from, LocalDate to) {
+        List<RoomAvailability> buckets = repository.findAllByRoomIdAndYearBetween(roomId, from.getYear(), to.getYear());
+        return buckets.stream().allMatch(bucket -> isFree(bucket, from, to));
+    }
+
+    @Override
+    @Transactional
+    public boolean reserve(Long roomId, LocalDate from, LocalDate to) {
+        repository.createMissing(List.of(roomId), from.getYear(), to.getYear());
+        Map<Integer, RoomAvailability> buckets = repository.findAllForUpdate(roomId, from.getYear(), to.getYear())
+                .stream().collect(Collectors.toMap(RoomAvailability::getYear, Function.identity()));
+
+        List<RoomAvailability> changed = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            RoomAvailability bucket = buckets.get(year);
+            if (bucket == null) {
+                bucket = new RoomAvailability(roomId, year, null);
+            }
+            BitSet days = DayBitmap.read(bucket.getDays());
+            int fromIndex = DayBitmap.fromIndex(year, from);
+            int toIndex = DayBitmap.toIndex(year, to);
+            if (!DayBitmap.isFree(days, fromIndex, toIndex)) {
+                return false;
+            }
+            days.set(fromIndex, toIndex);
+            bucket.setDays(DayBitmap.write(days));
+            changed.add(bucket);
+        }
+
+        repository.saveAll(changed);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public BitSet reserveAll(List<Booking> bookings) {
+        BitSet rejected = new BitSet(bookings.size());
+        if (bookings.isEmpty()) {
+            return rejected;
+        }
+
+        Set<Long> roomIds = bookings.stream().map(booking -> booking.getRoom().getId()).collect(Collectors.toSet());
+        int fromYear = bookings.stream().mapToInt(booking -> booking.getArrivalDate().getYear()).min().getAsInt();
+        int toYear = bookings.stream().mapToInt(booking -> booking.getDepartureDate().getYear()).max().getAsInt();
+
+        repository.createMissing(roomIds, fromYear, toYear);
+        Map<RoomAvailability.Key, RoomAvailability> buckets = new HashMap<>();
+        repository.findAllByRoomIdsForUpdate(roomIds, fromYear, toYear)
+                .forEach(bucket -> buckets.put(new RoomAvailability.Key(bucket.getRoomId(), bucket.getYear()), bucket));
+
+        Map<RoomAvailability.Key, BitSet> days = new HashMap<>();
+        Set<RoomAvailability.Key> changed = new LinkedHashSet<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            Long roomId = booking.getRoom().getId();
+            LocalDate from = booking.getArrivalDate();
+            LocalDate to = booking.getDepartureDate();
+
+            boolean free = true;
+            for (int year = from.getYear(); free && year <= to.getYear(); year++) {
+                BitSet yearDays = days.computeIfAbsent(new RoomAvailability.Key(roomId, year),
+                        key -> DayBitmap.read(buckets.containsKey(key) ? buckets.get(key).getDays() : null));
+                free = DayBitmap.isFree(yearDays, DayBitmap.fromIndex(year, from), DayBitmap.toIndex(year, to));
+            }
+            if (!free) {
+                rejected.set(i);
+                continue;
+            }
+
+            for (int year = from.getYear(); year <= to.getYear(); year++) {
+                RoomAvailability.Key key = new RoomAvailability.Key(roomId, year);
+                days.get(key).set(DayBitmap.fromIndex(year, from), DayBitmap.toIndex(year, to));
+                changed.add(key);
+            }
+        }
+
+        repository.saveAll(changed.stream()
+                .map(key -> {
+                    RoomAvailability bucket = buckets.getOrDefault(key,
+                            new RoomAvailability(key.getRoomId(), key.getYear(), null));
+                    bucket.setDays(DayBitmap.write(days.get(key)));
+                    return bucket;
+                })
+                .toList());
+        return rejected;
+    }
+
+    private boolean isFree(RoomAvailability bucket, LocalDate from, LocalDate to) {
+        int year = bucket.getYear();
+        return DayBitmap.isFree(DayBitmap.read(bucket.getDays()),
+                DayBitmap.fromIndex(year, from), DayBitmap.toIndex(year, to));
+    }
+}
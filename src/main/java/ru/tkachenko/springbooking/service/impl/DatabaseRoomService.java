@@ -1,30 +1,43 @@
 package ru.tkachenko.springbooking.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.controller.specification.KeysetSpecification;
 import ru.tkachenko.springbooking.controller.specification.RoomSpecification;
 import ru.tkachenko.springbooking.dto.RoomFilter;
 import ru.tkachenko.springbooking.exception.DateException;
 import ru.tkachenko.springbooking.exception.EntityNotFoundException;
+import ru.tkachenko.springbooking.mapper.RoomMapper;
 import ru.tkachenko.springbooking.model.Room;
 import ru.tkachenko.springbooking.repository.RoomRepository;
 import ru.tkachenko.springbooking.service.RoomService;
-import ru.tkachenko.springbooking.utils.BeanUtils;
+import ru.tkachenko.springbooking.utils.ConstraintViolations;
+import ru.tkachenko.springbooking.utils.KeysetCursor;
 
 import java.text.MessageFormat;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DatabaseRoomService implements RoomService {
+    private static final String HOTEL_FOREIGN_KEY = "fk_rooms_hotel";
+
     private final RoomRepository repository;
+    private final RoomMapper roomMapper;
 
     @Override
     public List<Room> findAll(RoomFilter filter) {
+        Specification<Room> specification = RoomSpecification.withFilter(filter);
 
         if (filter.getArrivalDate() != null && filter.getDepartureDate() != null) {
             LocalDate fromDate = LocalDate.parse(filter.getArrivalDate());
@@ -37,11 +50,19 @@ public class DatabaseRoomService implements RoomService {
             if (fromDate.isBefore(LocalDate.now()) || toDate.isBefore(LocalDate.now())) {
                 throw new DateException("Нельзя указывать прошедшие даты!");
             }
+
+            specification = specification.and(RoomSpecification.availableBetween(fromDate, toDate));
+        }
+
+        if (filter.getAfter() != null) {
+            Long afterId = KeysetCursor.decode(filter.getAfter());
+            return repository.findBy(specification.and(KeysetSpecification.idAfter(afterId)),
+                    query -> query.sortBy(Sort.by(Room.Fields.id)).limit(filter.getPageSize()).all());
         }
 
-        return repository.findAll(RoomSpecification.withFilter(filter),
+        return repository.findAll(specification,
                 PageRequest.of(
-                        filter.getPageNumber(), filter.getPageSize()
+                        filter.getPageNumber(), filter.getPageSize(), Sort.by(Room.Fields.id)
                 )).getContent();
     }
 
@@ -53,18 +74,40 @@ public class DatabaseRoomService implements RoomService {
                 )));
     }
 
+    @Override
+    public Room getReference(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    @Override
+    public Map<Long, Room> getReferences(Collection<Long> ids) {
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Long id : repository.findExistingIds(ids)) {
+            rooms.put(id, repository.getReferenceById(id));
+        }
+        return rooms;
+    }
+
     @Override
     @Transactional
     public Room save(Room room) {
-        return repository.save(room);
+        try {
+            return repository.saveAndFlush(room);
+        } catch (DataIntegrityViolationException e) {
+            throw hotelNotFoundOr(e, room);
+        }
     }
 
     @Override
     @Transactional
     public Room update(Room room) {
         Room existedRoom = findById(room.getId());
-        BeanUtils.copyNonNullProperties(room, existedRoom);
-        return repository.save(existedRoom);
+        roomMapper.updateRoom(room, existedRoom);
+        try {
+            return repository.saveAndFlush(existedRoom);
+        } catch (DataIntegrityViolationException e) {
+            throw hotelNotFoundOr(e, existedRoom);
+        }
     }
 
     @Override
@@ -72,4 +115,13 @@ public class DatabaseRoomService implements RoomService {
     public void deleteById(Long id) {
         repository.deleteById(id);
     }
+
+    private RuntimeException hotelNotFoundOr(DataIntegrityViolationException e, Room room) {
+        if (room.getHotel() != null && ConstraintViolations.isViolated(e, HOTEL_FOREIGN_KEY)) {
+            return new EntityNotFoundException(MessageFormat.format(
+                    "Отель с ID {0} не найден!", room.getHotel().getId()
+            ));
+        }
+        return e;
+    }
 }
@@ -1,27 +1,148 @@
 package ru.tkachenko.springbooking.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.opencsv.CSVWriter;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import ru.tkachenko.springbooking.dto.RoomBookedEvent;
 import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
 import ru.tkachenko.springbooking.exception.CreateFolderException;
+import ru.tkachenko.springbooking.exception.EntityNotFoundException;
+import ru.tkachenko.springbooking.exception.ExportRejectedException;
+import ru.tkachenko.springbooking.model.ExportJob;
+import ru.tkachenko.springbooking.model.StatisticType;
 import ru.tkachenko.springbooking.service.StatisticService;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DatabaseStatisticService implements StatisticService {
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int RESPONSE_BUFFER_SIZE = 1 << 16;
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    private static final long PROGRESS_INTERVAL = 100_000;
+
     private final MongoTemplate mongoTemplate;
+    private final ExecutorService executor;
+    private final Semaphore jobPermits;
+    private final Cache<UUID, ExportJob> jobs;
+    private final long partitionSize;
+    private final int maxPartitions;
+
+    public DatabaseStatisticService(MongoTemplate mongoTemplate,
+                                    @Value("${app.statistics.export.threads}") int threads,
+                                    @Value("${app.statistics.export.maxConcurrentJobs}") int maxConcurrentJobs,
+                                    @Value("${app.statistics.export.partitionSize}") long partitionSize,
+                                    @Value("${app.statistics.export.maxPartitions}") int maxPartitions,
+                                    @Value("${app.statistics.export.jobTtl}") Duration jobTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.partitionSize = partitionSize;
+        this.maxPartitions = maxPartitions;
+        this.jobPermits = new Semaphore(maxConcurrentJobs);
+        // A job queues at most one partitioning, maxPartitions part and one concatenation task per type,
+        // so with the number of jobs capped the queue can never overflow.
+        int queueCapacity = maxConcurrentJobs * StatisticType.values().length * (maxPartitions + 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "statistic-export-" + threadNumber.incrementAndGet()));
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobTtl)
+                .build();
+    }
 
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
     public void exportDataToCsv(String pathToFolder) {
+        Path directory = createDirectory(pathToFolder);
+        ExportJob job = new ExportJob(pathToFolder);
+        try {
+            submitExport(directory, job).join();
+        } catch (CompletionException e) {
+            log.error("Ошибка при сохранении данных в CSV", e.getCause());
+        }
+    }
+
+    @Override
+    public ExportJob startExport(String pathToFolder) {
+        Path directory = createDirectory(pathToFolder);
+        ExportJob job = new ExportJob(pathToFolder);
+        submitExport(directory, job).whenComplete((result, e) -> {
+            if (e == null) {
+                job.complete();
+                log.info("Экспорт {} завершён: {}", job.getId(), job.getExportedRows());
+            } else {
+                job.fail(e instanceof CompletionException ? e.getCause() : e);
+                log.error("Ошибка при экспорте {}", job.getId(), e);
+            }
+        });
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    @Override
+    public ExportJob findExportJob(UUID jobId) {
+        ExportJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Экспорт с ID " + jobId + " не найден!");
+        }
+        return job;
+    }
+
+    @Override
+    public long writeCsv(StatisticType type, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE);
+        long exported = writeCsv(type, new Query(), writer, true);
+        writer.flush();
+        return exported;
+    }
+
+    private Path createDirectory(String pathToFolder) {
         pathToFolder = pathToFolder.replace("/", File.separator);
         String path = pathToFolder + File.separator;
         File directory = new File(path);
@@ -30,35 +151,158 @@ public class DatabaseStatisticService implements StatisticService {
                 throw new CreateFolderException("Не удалось создать каталог: " + directory.getAbsolutePath());
             }
         }
-        exportRoomBookedEventDataToCsv(path);
-        exportUserRegisteredEventDataToCsv(path);
+        return directory.toPath();
+    }
+
+    private CompletableFuture<Void> submitExport(Path directory, ExportJob job) {
+        if (!jobPermits.tryAcquire()) {
+            throw new ExportRejectedException("Слишком много одновременных экспортов, повторите позже!");
+        }
+        try {
+            return export(directory, job).whenComplete((result, e) -> jobPermits.release());
+        } catch (RejectedExecutionException e) {
+            jobPermits.release();
+            throw new ExportRejectedException("Экспорт не может быть запущен, повторите позже!", e);
+        }
+    }
+
+    private CompletableFuture<Void> export(Path directory, ExportJob job) {
+        CompletableFuture<?>[] files = Arrays.stream(StatisticType.values())
+                .map(type -> exportType(directory.resolve(type.getFileName() + ".csv"), type, job))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(files);
+    }
+
+    private CompletableFuture<Void> exportType(Path file, StatisticType type, ExportJob job) {
+        return CompletableFuture.supplyAsync(() -> partition(type), executor)
+                .thenCompose(partitions -> {
+                    List<Path> parts = IntStream.range(0, partitions.size())
+                            .mapToObj(i -> file.resolveSibling(file.getFileName() + ".part" + i))
+                            .toList();
+                    CompletableFuture<?>[] exports = IntStream.range(0, partitions.size())
+                            .mapToObj(i -> CompletableFuture
+                                    .supplyAsync(() -> exportPart(type, partitions.get(i), parts.get(i), i == 0), executor)
+                                    .thenAccept(rows -> job.addExportedRows(type, rows)))
+                            .toArray(CompletableFuture[]::new);
+                    return CompletableFuture.allOf(exports)
+                            .thenRunAsync(() -> concatenate(parts, file), executor)
+                            .whenComplete((result, e) -> parts.forEach(this::deleteQuietly));
+                });
     }
 
-    private void exportRoomBookedEventDataToCsv(String path) {
-        List<RoomBookedEvent> roomBookedEvents = mongoTemplate.findAll(RoomBookedEvent.class);
-        try (CSVWriter writer = new CSVWriter(new FileWriter(path + "exportedRoomBookedEventData.csv"), ';', '"', '"', "\n")) {
-            String[] header = {"userId", "checkInDate", "checkOutDate"};
-            writer.writeNext(header);
-            for (RoomBookedEvent event : roomBookedEvents) {
-                String[] data = {String.valueOf(event.getUserId()), event.getCheckInDate(), event.getCheckOutDate()};
-                writer.writeNext(data);
+    /**
+     * Splits the collection into contiguous {@code _id} ranges of roughly {@code partitionSize} documents.
+     * Each boundary is found with a covered {@code skip} on the {@code _id} index: the server walks the index
+     * entries up to the boundary, but no documents are fetched and only the boundary id is returned.
+     */
+    private List<Criteria> partition(StatisticType type) {
+        String collection = mongoTemplate.getCollectionName(type.getDocumentType());
+        long count = mongoTemplate.estimatedCount(collection);
+        int partitions = (int) Math.max(1, Math.min(maxPartitions, (count + partitionSize - 1) / partitionSize));
+        long step = count / partitions;
+
+        List<Object> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions; i++) {
+            Query query = new Query().with(Sort.by("_id")).skip(i * step).limit(1);
+            query.fields().include("_id");
+            Document boundary = mongoTemplate.findOne(query, Document.class, collection);
+            if (boundary != null) {
+                bounds.add(boundary.get("_id"));
             }
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        Object lower = null;
+        for (Object upper : bounds) {
+            criteria.add(idRange(lower, upper));
+            lower = upper;
+        }
+        criteria.add(idRange(lower, null));
+        log.info("Экспорт {}: {} записей, {} частей", type, count, criteria.size());
+        return criteria;
+    }
+
+    private Criteria idRange(Object lower, Object upper) {
+        if (lower == null && upper == null) {
+            return new Criteria();
+        }
+        Criteria criteria = Criteria.where("_id");
+        if (lower != null) {
+            criteria = criteria.gte(lower);
+        }
+        if (upper != null) {
+            criteria = criteria.lt(upper);
+        }
+        return criteria;
+    }
+
+    private long exportPart(StatisticType type, Criteria criteria, Path part, boolean withHeader) {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            return writeCsv(type, new Query(criteria), out, withHeader);
         } catch (IOException e) {
-            log.error("Ошибка при сохранении данных в CSV", e);
+            throw new UncheckedIOException(e);
         }
     }
 
-    private void exportUserRegisteredEventDataToCsv(String path) {
-        List<UserRegisteredEvent> userRegisteredEvents = mongoTemplate.findAll(UserRegisteredEvent.class);
-        try (CSVWriter writer = new CSVWriter(new FileWriter(path + "exportedUserRegisteredEventData.csv"), ';', '"', '"', "\n")) {
-            String[] header = {"userId"};
-            writer.writeNext(header);
-            for (UserRegisteredEvent event : userRegisteredEvents) {
-                String[] data = {String.valueOf(event.getUserId())};
-                writer.writeNext(data);
+    private void concatenate(List<Path> parts, Path file) {
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path part : parts) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = source.size();
+                    while (position < size) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
             }
         } catch (IOException e) {
-            log.error("Ошибка при сохранении данных в CSV", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteQuietly(Path part) {
+        try {
+            Files.deleteIfExists(part);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить файл {}", part, e);
+        }
+    }
+
+    private long writeCsv(StatisticType type, Query query, Writer out, boolean withHeader) throws IOException {
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include(type.getHeader());
+
+        CSVWriter writer = new CSVWriter(out, ';', '"', '"', "\n");
+        long exported = 0;
+        try (Stream<?> events = mongoTemplate.stream(query, type.getDocumentType())) {
+            if (withHeader) {
+                writer.writeNext(type.getHeader());
+            }
+            Iterator<?> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                writer.writeNext(toRow(iterator.next()));
+                if (++exported % PROGRESS_INTERVAL == 0) {
+                    log.info("Экспорт {}: выгружено {} записей", type, exported);
+                }
+            }
+        }
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Ошибка при записи CSV " + type);
+        }
+        return exported;
+    }
+
+    private String[] toRow(Object event) {
+        if (event instanceof RoomBookedEvent roomBookedEvent) {
+            return new String[]{String.valueOf(roomBookedEvent.getUserId()),
+                    roomBookedEvent.getCheckInDate(), roomBookedEvent.getCheckOutDate()};
+        } else if (event instanceof UserRegisteredEvent userRegisteredEvent) {
+            return new String[]{String.valueOf(userRegisteredEvent.getUserId())};
         }
+        throw new IllegalArgumentException("Неизвестный тип события: " + event.getClass());
     }
 }
@@ -1,28 +1,42 @@
 package ru.tkachenko.springbooking.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
 import ru.tkachenko.springbooking.exception.EntityNotFoundException;
 import ru.tkachenko.springbooking.exception.UserException;
+import ru.tkachenko.springbooking.mapper.UserMapper;
 import ru.tkachenko.springbooking.model.RoleType;
 import ru.tkachenko.springbooking.model.User;
 import ru.tkachenko.springbooking.model.UserRole;
 import ru.tkachenko.springbooking.repository.UserRepository;
+import ru.tkachenko.springbooking.security.CredentialCache;
+import ru.tkachenko.springbooking.service.OutboxService;
 import ru.tkachenko.springbooking.service.UserService;
-import ru.tkachenko.springbooking.utils.BeanUtils;
 
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DatabaseUserService implements UserService {
     private final UserRepository repository;
+    private final EntityManager entityManager;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
+    private final OutboxService outboxService;
+    private final UserMapper userMapper;
+
+    @Value("${app.kafka.kafkaUserRegistryEventTopic}")
+    private String topicName;
 
     @Override
     public User findByName(String name) {
@@ -37,6 +51,16 @@ public class DatabaseUserService implements UserService {
         return repository.findAll();
     }
 
+    @Override
+    public void streamAll(Consumer<User> action) {
+        try (Stream<User> users = repository.streamAll()) {
+            users.forEach(user -> {
+                action.accept(user);
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     public User findById(Long id) {
         return repository.findById(id)
@@ -65,14 +89,16 @@ public class DatabaseUserService implements UserService {
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        return repository.saveAndFlush(user);
+        User savedUser = repository.saveAndFlush(user);
+        outboxService.add(topicName, new UserRegisteredEvent(savedUser.getId()));
+        return savedUser;
     }
 
     @Override
     @Transactional
     public User update(User user) {
         User existedUser = findById(user.getId());
-        BeanUtils.copyNonNullProperties(user, existedUser);
+        userMapper.updateUser(user, existedUser);
         if (repository.existsByNameAndIdNotOrEmailAndIdNot(
                 existedUser.getName(), existedUser.getId(),
                 existedUser.getEmail(), existedUser.getId())) {
@@ -81,6 +107,7 @@ public class DatabaseUserService implements UserService {
                     user.getName(), user.getEmail())
             );
         }
+        credentialCache.evictUser(existedUser.getId());
         return repository.save(existedUser);
     }
 
@@ -88,5 +115,6 @@ public class DatabaseUserService implements UserService {
     @Transactional
     public void deleteById(Long id) {
         repository.deleteById(id);
+        credentialCache.evictUser(id);
     }
 }
@@ -0,0 +1,135 @@
+package ru.tkachenko.springbooking.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import ru.tkachenko.springbooking.dto.Event;
+import ru.tkachenko.springbooking.exception.EventPublishException;
+import ru.tkachenko.springbooking.service.EventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class KafkaEventPublisher implements EventPublisher {
+    private static final int DISPATCH_BATCH_SIZE = 500;
+
+    private final KafkaTemplate<String, Event> kafkaTemplate;
+    private final BlockingQueue<PendingEvent> backlog;
+    private final Duration offerTimeout;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Timer latencyTimer;
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public KafkaEventPublisher(KafkaTemplate<String, Event> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.kafka.publisher.capacity}") int capacity,
+                               @Value("${app.kafka.publisher.offerTimeout}") Duration offerTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.backlog = new ArrayBlockingQueue<>(capacity);
+        this.offerTimeout = offerTimeout;
+
+        Gauge.builder("events.publisher.backlog", backlog, BlockingQueue::size)
+                .description("Events waiting to be handed to the Kafka producer")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("events.publisher.sent");
+        this.failedCounter = meterRegistry.counter("events.publisher.failed");
+        this.rejectedCounter = meterRegistry.counter("events.publisher.rejected");
+        this.latencyTimer = Timer.builder("events.publisher.latency")
+                .description("Time from publish call to broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcher = new Thread(this::dispatch, "event-publisher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(10));
+        List<PendingEvent> remaining = new ArrayList<>();
+        backlog.drainTo(remaining);
+        remaining.forEach(this::send);
+        kafkaTemplate.flush();
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, Event event) {
+        PendingEvent pending = new PendingEvent(topic, key, event, System.nanoTime(), new CompletableFuture<>());
+        try {
+            if (!backlog.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                log.error("Очередь событий переполнена, событие {} в топик {} отклонено", event, topic);
+                pending.result().completeExceptionally(new EventPublishException("Очередь событий переполнена!"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result().completeExceptionally(new EventPublishException("Публикация события прервана!", e));
+        }
+        return pending.result();
+    }
+
+    private void dispatch() {
+        List<PendingEvent> batch = new ArrayList<>(DISPATCH_BATCH_SIZE);
+        while (running) {
+            try {
+                batch.add(backlog.take());
+                backlog.drainTo(batch, DISPATCH_BATCH_SIZE - 1);
+                batch.forEach(this::send);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Ошибка при передаче событий в Kafka", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(PendingEvent pending) {
+        try {
+            kafkaTemplate.send(pending.topic(), pending.key(), pending.event()).whenComplete((result, ex) -> {
+                latencyTimer.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+                if (ex != null) {
+                    failedCounter.increment();
+                    log.error("Не удалось отправить событие {} в топик {}", pending.event(), pending.topic(), ex);
+                    pending.result().completeExceptionally(new EventPublishException("Не удалось отправить событие!", ex));
+                } else {
+                    sentCounter.increment();
+                    pending.result().complete(null);
+                }
+            });
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("Не удалось отправить событие {} в топик {}", pending.event(), pending.topic(), e);
+            pending.result().completeExceptionally(new EventPublishException("Не удалось отправить событие!", e));
+        }
+    }
+
+    private record PendingEvent(String topic, String key, Event event, long enqueuedAt, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,159 @@
+package ru.tkachenko.springbooking.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.tkachenko.springbooking.cache.HotelCountCache;
+import ru.tkachenko.springbooking.cache.HotelEntityCache;
+import ru.tkachenko.springbooking.dto.HotelVoteEvent;
+import ru.tkachenko.springbooking.exception.EventPublishException;
+import ru.tkachenko.springbooking.exception.HotelException;
+import ru.tkachenko.springbooking.model.HotelVoteOffset;
+import ru.tkachenko.springbooking.repository.HotelRepository;
+import ru.tkachenko.springbooking.repository.HotelVoteOffsetRepository;
+import ru.tkachenko.springbooking.service.EventPublisher;
+import ru.tkachenko.springbooking.service.HotelService;
+import ru.tkachenko.springbooking.service.HotelVoteService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Votes are appended to a Kafka topic keyed by hotel id and applied in batches: the listener sums the
+ * marks per hotel and updates each row once per poll. Consumed offsets are stored in the same
+ * transaction as the ratings and the listener seeks to them on assignment, so records redelivered after
+ * a crash are skipped instead of counted twice.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "app.hotel.vote", name = "async", havingValue = "true")
+public class KafkaHotelVoteService implements HotelVoteService {
+    private final HotelService hotelService;
+    private final HotelRepository hotelRepository;
+    private final HotelVoteOffsetRepository offsetRepository;
+    private final HotelCountCache hotelCountCache;
+    private final HotelEntityCache hotelEntityCache;
+    private final EventPublisher eventPublisher;
+    private final String topic;
+    private final Duration sendTimeout;
+    private final Counter appliedCounter;
+    private final Counter skippedCounter;
+    private final Counter updatesCounter;
+
+    public KafkaHotelVoteService(HotelService hotelService,
+                                 HotelRepository hotelRepository,
+                                 HotelVoteOffsetRepository offsetRepository,
+                                 HotelCountCache hotelCountCache,
+                                 HotelEntityCache hotelEntityCache,
+                                 EventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.kafka.kafkaHotelVoteTopic}") String topic,
+                                 @Value("${app.hotel.vote.sendTimeout}") Duration sendTimeout) {
+        this.hotelService = hotelService;
+        this.hotelRepository = hotelRepository;
+        this.offsetRepository = offsetRepository;
+        this.hotelCountCache = hotelCountCache;
+        this.hotelEntityCache = hotelEntityCache;
+        this.eventPublisher = eventPublisher;
+        this.topic = topic;
+        this.sendTimeout = sendTimeout;
+        this.appliedCounter = meterRegistry.counter("hotel.votes.applied");
+        this.skippedCounter = meterRegistry.counter("hotel.votes.skipped");
+        this.updatesCounter = meterRegistry.counter("hotel.votes.updates");
+    }
+
+    @Override
+    public void submit(Long hotelId, int newMark) {
+        if (newMark < 1 || newMark > 5) {
+            throw new HotelException("Недопустимая оценка. Оценка должна быть между 1 и 5.");
+        }
+        hotelService.findById(hotelId);
+
+        try {
+            eventPublisher.publish(topic, String.valueOf(hotelId), new HotelVoteEvent(hotelId, newMark))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventPublishException("Отправка оценки прервана!", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new EventPublishException("Не удалось отправить оценку отеля с ID " + hotelId, e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int apply(List<ConsumerRecord<String, HotelVoteEvent>> records) {
+        Map<Integer, HotelVoteOffset> offsets = offsetRepository.findAllForUpdate(topic).stream()
+                .collect(Collectors.toMap(HotelVoteOffset::getPartition, Function.identity()));
+        Map<Long, VoteTotals> totals = new TreeMap<>();
+        Map<Integer, HotelVoteOffset> changed = new HashMap<>();
+
+        int applied = 0;
+        for (ConsumerRecord<String, HotelVoteEvent> record : records) {
+            HotelVoteOffset offset = offsets.computeIfAbsent(record.partition(),
+                    partition -> new HotelVoteOffset(topic, partition, 0L));
+            if (record.offset() < offset.getNextOffset()) {
+                skippedCounter.increment();
+                continue;
+            }
+            offset.setNextOffset(record.offset() + 1);
+            changed.put(record.partition(), offset);
+
+            HotelVoteEvent vote = record.value();
+            if (vote.getMark() < 1 || vote.getMark() > 5) {
+                log.warn("Пропущена недопустимая оценка {} для отеля с ID {}", vote.getMark(), vote.getHotelId());
+                continue;
+            }
+            totals.computeIfAbsent(vote.getHotelId(), id -> new VoteTotals()).add(vote.getMark());
+            applied++;
+        }
+
+        offsetRepository.saveAll(changed.values());
+
+        Instant now = Instant.now();
+        totals.forEach((hotelId, total) -> {
+            if (hotelRepository.addVotes(hotelId, total.sum, total.count, now) == 0) {
+                log.warn("Отель с ID {} не найден, {} оценок пропущено", hotelId, total.count);
+            }
+        });
+
+        if (!totals.isEmpty()) {
+            hotelEntityCache.evict(totals.keySet());
+            hotelCountCache.invalidateRatingFilters();
+        }
+        appliedCounter.increment(applied);
+        updatesCounter.increment(totals.size());
+        return applied;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> findOffsets() {
+        return offsetRepository.findAllByTopic(topic).stream()
+                .collect(Collectors.toMap(HotelVoteOffset::getPartition, HotelVoteOffset::getNextOffset));
+    }
+
+    private static class VoteTotals {
+        private long sum;
+        private int count;
+
+        void add(int mark) {
+            sum += mark;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.tkachenko.springbooking.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+@UtilityClass
+public class DayBitmap {
+    public static final int DAYS_IN_BUCKET = 366;
+
+    public BitSet read(byte[] days) {
+        return days != null ? BitSet.valueOf(days) : new BitSet(DAYS_IN_BUCKET);
+    }
+
+    public byte[] write(BitSet days) {
+        return days.toByteArray();
+    }
+
+    public int fromIndex(int year, LocalDate from) {
+        return from.getYear() < year ? 0 : from.getDayOfYear() - 1;
+    }
+
+    public int toIndex(int year, LocalDate to) {
+        return to.getYear() > year ? DAYS_IN_BUCKET : to.getDayOfYear();
+    }
+
+    public boolean isFree(BitSet days, int fromIndex, int toIndex) {
+        int next = days.nextSetBit(fromIndex);
+        return next == -1 || next >= toIndex;
+    }
+}
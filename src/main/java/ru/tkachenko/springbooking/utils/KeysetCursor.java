@@ -0,0 +1,52 @@
+package ru.tkachenko.springbooking.utils;
+
+import lombok.experimental.UtilityClass;
+import ru.tkachenko.springbooking.exception.PaginationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque {@code after} token for keyset pagination. The token carries the id of the last row of the
+ * previous page; the next page is read with {@code id > :after ORDER BY id LIMIT :pageSize}.
+ */
+@UtilityClass
+public class KeysetCursor {
+    public static final String HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Long decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new PaginationException("Некорректный курсор страницы!");
+        }
+    }
+
+    public void checkPageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new PaginationException("Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE + "!");
+        }
+    }
+
+    /**
+     * Returns the cursor of the page following {@code page}, or {@code null} when the page is not full
+     * and therefore the last one.
+     */
+    public <T> String next(List<T> page, int pageSize, Function<T, Long> idExtractor) {
+        if (page.isEmpty() || page.size() < pageSize) {
+            return null;
+        }
+        return encode(idExtractor.apply(page.get(page.size() - 1)));
+    }
+}
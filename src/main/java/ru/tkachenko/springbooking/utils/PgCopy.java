@@ -0,0 +1,89 @@
+package ru.tkachenko.springbooking.utils;
+
+import com.opencsv.CSVWriter;
+import lombok.experimental.UtilityClass;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Helpers for loading rows with {@code COPY ... FROM STDIN WITH (FORMAT csv)} next to JPA-managed tables.
+ */
+@UtilityClass
+public class PgCopy {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Reserves ids from an entity sequence. Every nextval covers {@code increment} ids ending at the
+     * returned value, exactly as Hibernate's pooled optimizer reads it, so both never hand out the same id.
+     */
+    public long[] allocateIds(Connection connection, String sequence, int count) throws SQLException {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+
+        int increment = increment(connection, sequence);
+        int allocated = 0;
+        while (allocated < count) {
+            int blocks = (count - allocated + increment - 1) / increment;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)")) {
+                statement.setString(1, sequence);
+                statement.setInt(2, blocks);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        long hi = resultSet.getLong(1);
+                        for (long id = Math.max(1, hi - increment + 1); id <= hi && allocated < count; id++) {
+                            ids[allocated++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Opens a COPY stream. Rows must be written with {@code writeNext(row, false)} so that null
+     * fields stay unquoted and are loaded as NULL.
+     */
+    public CSVWriter writer(Connection connection, String copySql) throws SQLException {
+        return new CSVWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql, BUFFER_SIZE),
+                StandardCharsets.UTF_8));
+    }
+
+    public String timestamp() {
+        return LocalDateTime.now(ZoneOffset.UTC).toString();
+    }
+
+    public String bytea(byte[] value) {
+        StringBuilder hex = new StringBuilder(2 + value.length * 2).append("\\x");
+        for (byte b : value) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private int increment(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?")) {
+            statement.setString(1, sequence);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalStateException("Последовательность " + sequence + " не найдена!");
+                }
+                return (int) resultSet.getLong(1);
+            }
+        }
+    }
+}
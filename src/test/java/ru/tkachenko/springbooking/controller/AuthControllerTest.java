@@ -0,0 +1,81 @@
+package ru.tkachenko.springbooking.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import ru.tkachenko.springbooking.AbstractTestController;
+import ru.tkachenko.springbooking.dto.TokenResponse;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@TestPropertySource(properties = {
+        "app.security.token.enabled=true",
+        "app.security.token.secret=test-secret-for-token-signature-0123456789"
+})
+public class AuthControllerTest extends AbstractTestController {
+
+    @Test
+    public void whenIssueTokenWithBasicAuthorization_thenTokenAuthorizesRequests() throws Exception {
+        String actualResponse = mockMvc.perform(post("/api/auth/token")
+                        .header("Authorization", USER_AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        TokenResponse response = objectMapper.readValue(actualResponse, TokenResponse.class);
+        assertNotNull(response.getToken());
+        assertNotNull(response.getExpiresAt());
+
+        mockMvc.perform(get("/api/hotel/1")
+                        .header("Authorization", "Bearer " + response.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/booking")
+                        .header("Authorization", "Bearer " + response.getToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void whenUseTamperedToken_thenReturnUnauthorized() throws Exception {
+        String actualResponse = mockMvc.perform(post("/api/auth/token")
+                        .header("Authorization", USER_AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String token = objectMapper.readValue(actualResponse, TokenResponse.class).getToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        mockMvc.perform(get("/api/hotel/1")
+                        .header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void whenIssueTokenWithoutAuthorization_thenReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void whenIssueTokenWithBearerAuthorization_thenReturnForbidden() throws Exception {
+        String actualResponse = mockMvc.perform(post("/api/auth/token")
+                        .header("Authorization", USER_AUTHORIZATION))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String token = objectMapper.readValue(actualResponse, TokenResponse.class).getToken();
+
+        mockMvc.perform(post("/api/auth/token")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+}
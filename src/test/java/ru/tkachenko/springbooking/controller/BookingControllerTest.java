@@ -6,6 +6,8 @@ import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -13,15 +15,25 @@ import org.springframework.test.annotation.DirtiesContext;
 import ru.tkachenko.springbooking.AbstractTestController;
 import ru.tkachenko.springbooking.StringTestUtils;
 import ru.tkachenko.springbooking.dto.*;
-import ru.tkachenko.springbooking.repository.UnavailableDateRepository;
+import ru.tkachenko.springbooking.service.RoomAvailabilityService;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -29,7 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class BookingControllerTest extends AbstractTestController {
 
     @Autowired
-    UnavailableDateRepository unavailableDateRepository;
+    RoomAvailabilityService roomAvailabilityService;
 
     @Test
     @WithMockUser(username = "Admin", roles = {"ADMIN"})
@@ -47,6 +59,15 @@ public class BookingControllerTest extends AbstractTestController {
         assertEquals(4, bookingResponses.size());
     }
 
+    @ParameterizedTest
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    @ValueSource(ints = {-1, 0, 10000000})
+    public void whenFindAllBookingsWithWrongPageSize_thenReturnBadRequest(int pageSize) throws Exception {
+        mockMvc.perform(get("/api/booking")
+                        .param("pageSize", String.valueOf(pageSize)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "User")
     public void whenFindAllBookingsWithWrongRole_thenReturnForbidden() throws Exception {
@@ -54,6 +75,26 @@ public class BookingControllerTest extends AbstractTestController {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    @Order(1)
+    public void whenStreamAllBookings_thenReturnOneLinePerBooking() throws Exception {
+        var result = mockMvc.perform(get("/api/booking")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String actualResponse = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = actualResponse.lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals(1L, objectMapper.readValue(lines.get(0), BookingResponse.class).getId());
+    }
+
     @Test
     public void whenFindAllBookingsWithoutRole_thenReturnUnauthorized() throws Exception {
         mockMvc.perform(get("/api/booking"))
@@ -81,12 +122,12 @@ public class BookingControllerTest extends AbstractTestController {
                 .getResponse()
                 .getContentAsString();
 
-        long count = unavailableDateRepository.count();
-
         BookingResponse response = objectMapper.readValue(actualResponse, BookingResponse.class);
         assertEquals(5, response.getId());
         assertEquals(1, response.getUser().getId());
-        assertEquals(38, count);
+        assertFalse(roomAvailabilityService.isAvailable(2L, from, from));
+        assertFalse(roomAvailabilityService.isAvailable(2L, to, to));
+        assertTrue(roomAvailabilityService.isAvailable(2L, to.plusDays(1), to.plusDays(5)));
 
         RoomBookedEvent receivedEvent = getKafkaMessage(RoomBookedEvent.class, KAFKA_BOOKING_TOPIC);
 
@@ -290,4 +331,110 @@ public class BookingControllerTest extends AbstractTestController {
 
         JsonAssert.assertJsonEquals(expectResponse, actualResponse);
     }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenCreateBookingsInBatch_thenReturnAllCreated() throws Exception {
+        LocalDate from = LocalDate.now().plusYears(5);
+        LocalDate to = from.plusDays(3);
+
+        BatchBookingRequest request = new BatchBookingRequest(List.of(
+                new UpsertBookingRequest(from, to, 2L),
+                new UpsertBookingRequest(from, to, 3L)
+        ));
+
+        String actualResponse = mockMvc.perform(post("/api/booking/batch")
+                        .header("Authorization", USER_AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        BatchBookingResponse response = objectMapper.readValue(actualResponse, BatchBookingResponse.class);
+        assertEquals(2, response.getCreated());
+        assertEquals(0, response.getRejected());
+        assertEquals(3L, response.getItems().get(1).getBooking().getRoom().getId());
+        assertFalse(roomAvailabilityService.isAvailable(2L, from, to));
+        assertFalse(roomAvailabilityService.isAvailable(3L, from, to));
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenCreateBookingsInBatchNotAtomic_thenReturnStatusPerItem() throws Exception {
+        LocalDate from = LocalDate.now().plusYears(6);
+        LocalDate to = from.plusDays(3);
+
+        BatchBookingRequest request = new BatchBookingRequest(List.of(
+                new UpsertBookingRequest(from, to, 4L),
+                new UpsertBookingRequest(from.plusDays(1), to.plusDays(1), 4L),
+                new UpsertBookingRequest(from, to, 500L)
+        ));
+
+        var response = mockMvc.perform(post("/api/booking/batch")
+                        .param("atomic", "false")
+                        .header("Authorization", USER_AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        response.setCharacterEncoding("UTF-8");
+
+        BatchBookingResponse batchResponse = objectMapper.readValue(response.getContentAsString(), BatchBookingResponse.class);
+        assertEquals(1, batchResponse.getCreated());
+        assertEquals(2, batchResponse.getRejected());
+        assertTrue(batchResponse.getItems().get(0).isCreated());
+        assertEquals("Комната на Ваши даты забронирована!", batchResponse.getItems().get(1).getErrorMessage());
+        assertEquals("Комната с ID 500 не найдена!", batchResponse.getItems().get(2).getErrorMessage());
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenCreateBookingsInBatchWithConflict_thenRejectWholeBatch() throws Exception {
+        LocalDate from = LocalDate.now().plusYears(7);
+        LocalDate to = from.plusDays(3);
+
+        BatchBookingRequest request = new BatchBookingRequest(List.of(
+                new UpsertBookingRequest(from, to, 1L),
+                new UpsertBookingRequest(from, to, 1L)
+        ));
+
+        mockMvc.perform(post("/api/booking/batch")
+                        .header("Authorization", USER_AUTHORIZATION)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertTrue(roomAvailabilityService.isAvailable(1L, from, to));
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenReserveConcurrentlyInNewYear_thenAllStaysAreReserved() throws Exception {
+        int threads = 8;
+        LocalDate start = LocalDate.of(LocalDate.now().getYear() + 8, 1, 1);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> reservations = IntStream.range(0, threads)
+                    .mapToObj(i -> executor.submit(() -> {
+                        barrier.await();
+                        roomAvailabilityService.reserve(5L, start.plusWeeks(i), start.plusWeeks(i).plusDays(2));
+                        return null;
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> reservation : reservations) {
+                reservation.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < threads; i++) {
+            assertFalse(roomAvailabilityService.isAvailable(5L, start.plusWeeks(i), start.plusWeeks(i).plusDays(2)));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package ru.tkachenko.springbooking.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.EntityManagerFactory;
 import net.javacrumbs.jsonunit.JsonAssert;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -9,6 +10,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
@@ -16,7 +19,9 @@ import ru.tkachenko.springbooking.AbstractTestController;
 import ru.tkachenko.springbooking.StringTestUtils;
 import ru.tkachenko.springbooking.dto.HotelListResponse;
 import ru.tkachenko.springbooking.dto.HotelResponse;
+import ru.tkachenko.springbooking.dto.ImportReport;
 import ru.tkachenko.springbooking.dto.UpsertHotelRequest;
+import ru.tkachenko.springbooking.model.Hotel;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -28,6 +33,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 public class HotelControllerTest extends AbstractTestController {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @WithMockUser(username = "User")
     @Order(1)
@@ -44,6 +52,15 @@ public class HotelControllerTest extends AbstractTestController {
         assertEquals(5, hotelListResponse.getHotels().size());
     }
 
+    @ParameterizedTest
+    @WithMockUser(username = "User")
+    @ValueSource(ints = {-1, 0, 10000000})
+    public void whenFindAllHotelsWithWrongPageSize_thenReturnBadRequest(int pageSize) throws Exception {
+        mockMvc.perform(get("/api/hotel")
+                        .param("pageSize", String.valueOf(pageSize)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "User")
     @Order(1)
@@ -60,6 +77,43 @@ public class HotelControllerTest extends AbstractTestController {
         assertEquals(2, hotelListResponse.getHotels().size());
     }
 
+    @Test
+    @WithMockUser(username = "User")
+    @Order(1)
+    public void whenFindAllHotelsAfterCursor_thenReturnNextPage() throws Exception {
+        String firstResponse = mockMvc.perform(get("/api/hotel?pageSize=2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        HotelListResponse firstPage = objectMapper.readValue(firstResponse, new TypeReference<>() {
+        });
+
+        String nextResponse = mockMvc.perform(get("/api/hotel?pageSize=2")
+                        .param("after", firstPage.getNextCursor()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        HotelListResponse nextPage = objectMapper.readValue(nextResponse, new TypeReference<>() {
+        });
+
+        assertEquals(2, nextPage.getHotels().size());
+        assertEquals(3, nextPage.getHotels().get(0).getId());
+        assertEquals(4, nextPage.getHotels().get(1).getId());
+    }
+
+    @Test
+    @WithMockUser(username = "User")
+    @Order(1)
+    public void whenFindAllHotelsWithWrongCursor_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/hotel")
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "User")
     @Order(1)
@@ -78,6 +132,23 @@ public class HotelControllerTest extends AbstractTestController {
         assertEquals(1, hotelListResponse.getHotels().get(0).getId());
     }
 
+    @Test
+    @WithMockUser(username = "User")
+    @Order(1)
+    public void whenFindAllHotelsWithFilter_thenReturnFilteredCount() throws Exception {
+        String actualResponse = mockMvc.perform(get("/api/hotel?pageSize=2&pageNumber=0")
+                        .param("name", "Hotel_3"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        HotelListResponse hotelListResponse = objectMapper.readValue(actualResponse, new TypeReference<>() {
+        });
+
+        assertEquals(1, hotelListResponse.getCountHotels());
+    }
+
     @Test
     @WithMockUser(username = "User")
     @Order(1)
@@ -688,6 +759,71 @@ public class HotelControllerTest extends AbstractTestController {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    @Order(Integer.MAX_VALUE)
+    public void whenImportHotels_thenLoadValidAndReportRejected() throws Exception {
+        String body = """
+                {"name":"Imported","title":"Imported title","city":"Kazan","address":"Baumana 1","distanceFromCityCenter":1.5,"rooms":[{"name":"Room 1","description":"Single","number":1,"price":1000,"capacity":1},{"name":"Room 2","description":"Double","number":2,"price":2000,"capacity":2}]}
+                {"name":"","title":"Broken","city":"Kazan","address":"Baumana 2","distanceFromCityCenter":2.0}
+                """;
+
+        String actualResponse = mockMvc.perform(post("/api/hotel/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        ImportReport report = objectMapper.readValue(actualResponse, ImportReport.class);
+
+        assertEquals(1, report.getHotelsImported());
+        assertEquals(2, report.getRoomsImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getLine());
+
+        String hotels = mockMvc.perform(get("/api/hotel").param("name", "Imported"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        HotelListResponse hotelListResponse = objectMapper.readValue(hotels, HotelListResponse.class);
+        assertEquals(1, hotelListResponse.getHotels().size());
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    @Order(Integer.MAX_VALUE)
+    public void whenVoteForHotel_thenOtherHotelsStayInSecondLevelCache() throws Exception {
+        entityManagerFactory.getCache().evict(Hotel.class, 1L);
+
+        double missesBefore = hotelCacheRequests("miss");
+        mockMvc.perform(get("/api/hotel/1"))
+                .andExpect(status().isOk());
+        assertEquals(missesBefore + 1, hotelCacheRequests("miss"));
+
+        mockMvc.perform(put("/api/hotel/3/vote/4"))
+                .andExpect(status().isOk());
+
+        double hitsBefore = hotelCacheRequests("hit");
+        mockMvc.perform(get("/api/hotel/1"))
+                .andExpect(status().isOk());
+        assertEquals(hitsBefore + 1, hotelCacheRequests("hit"));
+    }
+
+    private double hotelCacheRequests(String result) throws Exception {
+        String actualResponse = mockMvc.perform(get("/actuator/metrics/hibernate.second.level.cache.requests")
+                        .param("tag", "region:" + Hotel.class.getName(), "result:" + result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return objectMapper.readTree(actualResponse).at("/measurements/0/value").asDouble();
+    }
+
     private static Stream<Arguments> invalidNumbers() {
         return Stream.of(
                 Arguments.of(-1),
@@ -0,0 +1,50 @@
+package ru.tkachenko.springbooking.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import ru.tkachenko.springbooking.AbstractTestController;
+import ru.tkachenko.springbooking.dto.HotelResponse;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@TestPropertySource(properties = {
+        "app.hotel.vote.async=true",
+        "app.hotel.vote.flushInterval=100ms"
+})
+public class HotelVoteAsyncControllerTest extends AbstractTestController {
+
+    @Test
+    @WithMockUser(username = "User")
+    public void whenVoteAsync_thenAcceptAndApplyRating() throws Exception {
+        mockMvc.perform(put("/api/hotel/4/vote/5"))
+                .andExpect(status().isAccepted());
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            String actualResponse = mockMvc.perform(get("/api/hotel/4"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            HotelResponse response = objectMapper.readValue(actualResponse, HotelResponse.class);
+            assertEquals(3.36, response.getRating());
+            assertEquals(55, response.getNumberOfRatings());
+        });
+    }
+
+    @Test
+    @WithMockUser(username = "User")
+    public void whenVoteAsyncForUnknownHotel_thenReturnNotFound() throws Exception {
+        mockMvc.perform(put("/api/hotel/500/vote/5"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
@@ -46,6 +47,15 @@ public class RoomControllerTest extends AbstractTestController {
         assertEquals(20, roomResponses.size());
     }
 
+    @ParameterizedTest
+    @WithMockUser(username = "User")
+    @ValueSource(strings = {"-1", "0", "10000000", ""})
+    public void whenFindAllRoomsWithWrongPageSize_thenReturnBadRequest(String pageSize) throws Exception {
+        mockMvc.perform(get("/api/room")
+                        .param("pageSize", pageSize))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Order(1)
     @WithMockUser(username = "User")
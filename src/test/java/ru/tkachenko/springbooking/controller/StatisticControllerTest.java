@@ -1,13 +1,25 @@
 package ru.tkachenko.springbooking.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import net.javacrumbs.jsonunit.JsonAssert;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.tkachenko.springbooking.AbstractTestController;
 import ru.tkachenko.springbooking.StringTestUtils;
+import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
@@ -51,4 +63,58 @@ public class StatisticControllerTest extends AbstractTestController {
 
         JsonAssert.assertJsonEquals(expectResponse, actualResponse);
     }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    public void whenDownloadCsv_thenStreamRows() throws Exception {
+        mongoTemplate.dropCollection(UserRegisteredEvent.class);
+        mongoTemplate.insert(new UserRegisteredEvent(7L));
+
+        var result = mockMvc.perform(get("/api/stats/user-registered.csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String actualResponse = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals("\"userId\"\n\"7\"\n", actualResponse);
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    public void whenDownloadUnknownStatistic_thenReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/stats/unknown.csv"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "Admin", roles = {"ADMIN"})
+    public void whenStartExport_thenJobCompletesAndWritesFiles(@TempDir Path directory) throws Exception {
+        mongoTemplate.dropCollection(UserRegisteredEvent.class);
+        mongoTemplate.insert(new UserRegisteredEvent(7L));
+
+        String startResponse = mockMvc.perform(post("/api/stats/export")
+                        .param("pathToFolder", directory.toString()))
+                .andExpect(status().isAccepted())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String jobId = objectMapper.readTree(startResponse).get("id").asText();
+
+        await().atMost(Duration.ofSeconds(30)).until(() -> {
+            String statusResponse = mockMvc.perform(get("/api/stats/export/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            JsonNode job = objectMapper.readTree(statusResponse);
+            return "COMPLETED".equals(job.get("status").asText());
+        });
+
+        assertEquals("\"userId\"\n\"7\"\n",
+                Files.readString(directory.resolve("exportedUserRegisteredEventData.csv")));
+    }
 }
@@ -2,8 +2,12 @@ package ru.tkachenko.springbooking.controller;
 
 import net.javacrumbs.jsonunit.JsonAssert;
 import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.tkachenko.springbooking.AbstractTestController;
@@ -11,7 +15,14 @@ import ru.tkachenko.springbooking.StringTestUtils;
 import ru.tkachenko.springbooking.dto.UpsertUserRequest;
 import ru.tkachenko.springbooking.dto.UserRegisteredEvent;
 import ru.tkachenko.springbooking.dto.UserResponse;
+import ru.tkachenko.springbooking.model.OutboxEvent;
+import ru.tkachenko.springbooking.repository.OutboxDeadLetterRepository;
+import ru.tkachenko.springbooking.repository.OutboxEventRepository;
+import ru.tkachenko.springbooking.service.EventPublisher;
 
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -20,6 +31,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 public class UserControllerTest extends AbstractTestController {
+    @Autowired
+    private EventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxDeadLetterRepository outboxDeadLetterRepository;
+
     @Test
     public void whenCreateUser_thenReturnNewUser() throws Exception {
         int sizeMongoBefore = mongoTemplate.findAll(UserRegisteredEvent.class).size();
@@ -207,4 +227,38 @@ public class UserControllerTest extends AbstractTestController {
 
         JsonAssert.assertJsonEquals(expectResponse, actualResponse);
     }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenEventIsRedelivered_thenStoreItOnce() {
+        UserRegisteredEvent event = new UserRegisteredEvent(900L);
+        eventPublisher.publish(KAFKA_USER_TOPIC, "900001", event).join();
+        eventPublisher.publish(KAFKA_USER_TOPIC, "900001", event).join();
+
+        Query query = Query.query(Criteria.where("userId").is(900L));
+        await().atMost(Duration.ofSeconds(30))
+                .during(Duration.ofSeconds(2))
+                .until(() -> mongoTemplate.count(query, UserRegisteredEvent.class) == 1);
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE)
+    public void whenOutboxHasUndecodableEvent_thenDeadLetterItAndRelayTheRest() throws Exception {
+        OutboxEvent broken = outboxEventRepository.save(OutboxEvent.builder()
+                .topic(KAFKA_USER_TOPIC)
+                .eventType("java.lang.Object")
+                .payload("{}")
+                .build());
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(KAFKA_USER_TOPIC)
+                .eventType(UserRegisteredEvent.class.getName())
+                .payload(objectMapper.writeValueAsString(new UserRegisteredEvent(901L)))
+                .build());
+
+        Query query = Query.query(Criteria.where("userId").is(901L));
+        await().atMost(Duration.ofSeconds(30))
+                .until(() -> outboxDeadLetterRepository.existsById(broken.getId())
+                        && outboxEventRepository.count() == 0
+                        && mongoTemplate.count(query, UserRegisteredEvent.class) == 1);
+    }
 }